@@ -3,6 +3,9 @@ package com.example;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.scheduling.annotation.EnableAsync;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+import jakarta.annotation.PreDestroy;
 
 import com.vaadin.flow.component.dependency.StyleSheet;
 import com.vaadin.flow.component.page.AppShellConfigurator;
@@ -11,6 +14,7 @@ import com.vaadin.flow.theme.lumo.Lumo;
 
 @SpringBootApplication
 @EnableAsync
+@EnableScheduling
 @StyleSheet(Lumo.STYLESHEET) // Use Aura.STYLESHEET to use Aura instead
 @StyleSheet(Lumo.UTILITY_STYLESHEET)
 @StyleSheet("styles.css") // Your custom styles
@@ -21,4 +25,10 @@ public class Application implements AppShellConfigurator {
         SpringApplication.run(Application.class, args);
     }
 
+    @PreDestroy
+    public void shutdown() {
+        // Not a bean, so it is not stopped with the other executors
+        MissingAPI.shutdownScheduler();
+    }
+
 }
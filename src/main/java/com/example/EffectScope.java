@@ -0,0 +1,172 @@
+package com.example;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+
+import com.vaadin.flow.component.Component;
+import com.vaadin.flow.component.ComponentEffect;
+import com.vaadin.flow.shared.Registration;
+import com.vaadin.signals.Signal;
+
+/**
+ * Scope for effects that are created while another effect runs, e.g. one
+ * effect per row of a list. Child effects created through the scope are
+ * disposed automatically when the parent effect runs again, so they do not
+ * accumulate with every change of the list.
+ *
+ * Effects created through this class are counted per owner component; see
+ * {@link #getLiveEffectCounts()}. Effects that do not need a scope are counted
+ * too when they are created with {@link #trackedEffect(Component, Runnable)}
+ * or {@link #trackedBind(Component, Signal, BiConsumer)} instead of
+ * {@link ComponentEffect}, as all {@link MissingAPI} helpers do. Effects created
+ * directly with {@link ComponentEffect} are not counted.
+ *
+ * <pre>
+ * EffectScope.effect(grid, scope -&gt; {
+ *     grid.setItems(...);
+ *     listSignal.value().forEach(row -&gt; scope.bind(grid, row,
+ *             (g, item) -&gt; g.getDataProvider().refreshItem(item)));
+ * });
+ * </pre>
+ */
+public final class EffectScope {
+
+    private static final Map<Component, AtomicInteger> LIVE_EFFECTS = Collections
+            .synchronizedMap(new WeakHashMap<>());
+
+    private final List<Registration> children = new ArrayList<>();
+
+    private EffectScope() {
+    }
+
+    /**
+     * Create an effect owned by a component whose action gets a scope for
+     * child effects. The child effects of the previous run are disposed before
+     * each run and when the returned registration is removed.
+     */
+    public static Registration effect(Component owner,
+            Consumer<EffectScope> action) {
+        EffectScope scope = new EffectScope();
+        Registration parent = track(owner,
+                ComponentEffect.effect(owner, () -> {
+                    scope.disposeChildren();
+                    action.accept(scope);
+                }));
+        return () -> {
+            parent.remove();
+            scope.disposeChildren();
+        };
+    }
+
+    /**
+     * Create an effect owned by a component, like
+     * {@link ComponentEffect#effect}, that is counted in the live effects of
+     * the owner.
+     */
+    public static Registration trackedEffect(Component owner,
+            Runnable action) {
+        return track(owner, ComponentEffect.effect(owner, action::run));
+    }
+
+    /**
+     * Create an effect that passes the value of a signal to a setter, like
+     * {@link ComponentEffect#bind}, that is counted in the live effects of the
+     * owner.
+     */
+    public static <C extends Component, T> Registration trackedBind(C owner,
+            Signal<T> signal, BiConsumer<C, T> setter) {
+        return trackedEffect(owner, () -> setter.accept(owner, signal.value()));
+    }
+
+    /**
+     * Create a child effect that is disposed when the parent effect runs
+     * again.
+     */
+    public Registration effect(Component owner, Runnable action) {
+        Registration child = track(owner,
+                ComponentEffect.effect(owner, action::run));
+        synchronized (children) {
+            children.add(child);
+        }
+        return child;
+    }
+
+    /**
+     * Create a child effect that passes the value of a signal to a setter,
+     * like {@link ComponentEffect#bind}, and is disposed when the parent
+     * effect runs again.
+     */
+    public <C extends Component, T> Registration bind(C owner,
+            Signal<T> signal, BiConsumer<C, T> setter) {
+        return effect(owner, () -> setter.accept(owner, signal.value()));
+    }
+
+    private void disposeChildren() {
+        List<Registration> disposed;
+        synchronized (children) {
+            disposed = List.copyOf(children);
+            children.clear();
+        }
+        disposed.forEach(Registration::remove);
+    }
+
+    private static Registration track(Component owner,
+            Registration registration) {
+        LIVE_EFFECTS.computeIfAbsent(owner, key -> new AtomicInteger())
+                .incrementAndGet();
+        AtomicBoolean removed = new AtomicBoolean();
+        return () -> {
+            if (removed.compareAndSet(false, true)) {
+                registration.remove();
+                AtomicInteger count = LIVE_EFFECTS.get(owner);
+                if (count != null) {
+                    count.decrementAndGet();
+                }
+            }
+        };
+    }
+
+    /**
+     * Get the total number of live effects created through this class.
+     */
+    public static int getLiveEffectCount() {
+        synchronized (LIVE_EFFECTS) {
+            return LIVE_EFFECTS.values().stream().mapToInt(AtomicInteger::get)
+                    .sum();
+        }
+    }
+
+    /**
+     * Get the number of live effects created through this class for each
+     * owner component that has any. A count that keeps growing while the
+     * view is used points to effects that are never disposed.
+     */
+    public static Map<Component, Integer> getLiveEffectCounts() {
+        Map<Component, Integer> counts = new HashMap<>();
+        synchronized (LIVE_EFFECTS) {
+            LIVE_EFFECTS.forEach((owner, count) -> {
+                if (count.get() > 0) {
+                    counts.put(owner, count.get());
+                }
+            });
+        }
+        return counts;
+    }
+
+    /**
+     * Get the number of live effects created through this class for one
+     * owner component.
+     */
+    public static int getLiveEffectCount(Component owner) {
+        AtomicInteger count = LIVE_EFFECTS.get(owner);
+        return count != null ? count.get() : 0;
+    }
+}
@@ -1,14 +1,40 @@
 package com.example;
 
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.BiPredicate;
+import java.util.function.Consumer;
 import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
+import com.example.usecase14.LoadingState;
+
 import com.vaadin.flow.component.Component;
-import com.vaadin.flow.component.ComponentEffect;
+import com.vaadin.flow.component.HasText;
 import com.vaadin.flow.component.HasValue;
+import com.vaadin.flow.component.UI;
+import com.vaadin.flow.component.UIDetachedException;
 import com.vaadin.flow.component.grid.Grid;
+import com.vaadin.flow.component.html.Div;
 import com.vaadin.flow.data.binder.Binder;
+import com.vaadin.flow.data.provider.ListDataProvider;
+import com.vaadin.flow.dom.DebouncePhase;
+import com.vaadin.flow.dom.Element;
+import com.vaadin.flow.shared.Registration;
 import com.vaadin.signals.Signal;
 import com.vaadin.signals.local.ValueSignal;
 import com.vaadin.signals.shared.SharedListSignal;
@@ -21,11 +47,47 @@ import com.vaadin.signals.WritableSignal;
  */
 public class MissingAPI {
 
+    private record KeyedChild<T>(T item, Component component) {
+    }
+
+    private static final class LazyContent {
+        private Component component;
+        private Registration disposal;
+    }
+
+    private static final class ScrollAnchor<K> {
+        // Item at the top of the viewport and the scroll position within it
+        private K key;
+        private int index;
+        private int delta;
+        private int scrollTop;
+    }
+
+    private static final class RateLimitState<T> {
+        private long lastApplied = System.nanoTime()
+                - TimeUnit.DAYS.toNanos(1);
+        // Set while the latest value waits for the interval to pass
+        private ScheduledFuture<?> flush;
+        private T pending;
+        // Incremented on detach, so that a flush that was already queued
+        // with the UI when it was cancelled does nothing
+        private long generation;
+    }
+
+    // Shared by all time-based bindings and signal operators, so the number
+    // of threads does not grow with the number of users or bindings
+    private static final ScheduledExecutorService SCHEDULER = Executors
+            .newSingleThreadScheduledExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "signal-scheduler");
+                thread.setDaemon(true);
+                return thread;
+            });
+
     /**
      * Binds a Grid's items to a Signal containing a List.
      */
     public static <T> void bindItems(Grid<T> grid, Signal<List<T>> signal) {
-        ComponentEffect.bind(grid, signal, (g, items) -> {
+        EffectScope.trackedBind(grid, signal, (g, items) -> {
             if (items != null) {
                 g.setItems(items);
             } else {
@@ -37,24 +99,227 @@ public class MissingAPI {
     /**
      * Binds a Grid's items to a ListSignal. Registers dependencies on all
      * individual ValueSignals within the ListSignal by reading each one, so the
-     * Grid updates when any item changes.
+     * Grid updates when any item changes. Items are identified by equality, so
+     * a changed item is refreshed like an insert and a remove; use
+     * {@link #bindItems(Grid, SharedListSignal, Function)} to refresh single
+     * rows.
      */
     public static <T> void bindItems(Grid<T> grid, SharedListSignal<T> listSignal) {
-        ComponentEffect.effect(grid, () -> {
+        bindItems(grid, listSignal, Function.identity());
+    }
+
+    /**
+     * Binds a Grid's items to a ListSignal, keeping one data provider for the
+     * lifetime of the Grid. When only item values change, just the rows of
+     * those items are refreshed. Inserts, removes and moves update the
+     * provider's list and refresh it in place, so the Grid keeps its scroll
+     * position and selection instead of being reset with a new provider.
+     *
+     * @param idGetter
+     *            returns an identifier of an item that stays the same when the
+     *            item's value changes, e.g. a record's id component
+     */
+    public static <T> void bindItems(Grid<T> grid, SharedListSignal<T> listSignal,
+            Function<T, ?> idGetter) {
+        List<SharedValueSignal<T>> rowSignals = new ArrayList<>();
+        List<T> rows = new ArrayList<>();
+        ListDataProvider<T> dataProvider = new ListDataProvider<>(rows) {
+            @Override
+            public Object getId(T item) {
+                return idGetter.apply(item);
+            }
+        };
+        grid.setItems(dataProvider);
+
+        EffectScope.trackedEffect(grid, () -> {
             List<SharedValueSignal<T>> signals = listSignal.value();
             // Read each individual signal to register dependency
             List<T> items = signals.stream().map(SharedValueSignal::value).toList();
-            grid.setItems(items);
+
+            if (!signals.equals(rowSignals)) {
+                // Structural change
+                rowSignals.clear();
+                rowSignals.addAll(signals);
+                rows.clear();
+                rows.addAll(items);
+                dataProvider.refreshAll();
+                return;
+            }
+
+            List<T> changed = new ArrayList<>();
+            boolean idChanged = false;
+            for (int i = 0; i < items.size(); i++) {
+                T previous = rows.get(i);
+                T item = items.get(i);
+                if (!Objects.equals(previous, item)) {
+                    rows.set(i, item);
+                    changed.add(item);
+                    idChanged |= !Objects.equals(idGetter.apply(previous),
+                            idGetter.apply(item));
+                }
+            }
+            if (idChanged) {
+                dataProvider.refreshAll();
+            } else {
+                changed.forEach(dataProvider::refreshItem);
+            }
         });
     }
 
+    /**
+     * Starts building a memoized, incrementally filtered view of a fixed list
+     * of items. Filters are applied in the order they are added, and each
+     * filter caches its last input and result, so a change to one filter
+     * input only re-runs that filter and the ones after it.
+     *
+     * <pre>
+     * Signal&lt;List&lt;Product&gt;&gt; filtered = MissingAPI.filteredList(products)
+     *         .partitionBy(Product::category, categorySignal, "All")
+     *         .search(searchTermSignal, (p, term) -&gt; p.name().contains(term))
+     *         .filter(inStockOnlySignal, (p, inStockOnly) -&gt; !inStockOnly
+     *                 || p.stock() &gt; 0)
+     *         .build();
+     * </pre>
+     */
+    public static <T> FilteredListBuilder<T> filteredList(List<T> items) {
+        return new FilteredListBuilder<>(items);
+    }
+
+    /**
+     * Builder for {@link #filteredList(List)}.
+     */
+    public static final class FilteredListBuilder<T> {
+
+        // One step of the filter chain, given the previous step's result
+        private interface Stage<T> {
+            List<T> apply(List<T> input);
+        }
+
+        // Last input (by identity), filter value and result of a stage
+        private static final class Memo<T, V> {
+            private List<T> input;
+            private V value;
+            private List<T> result;
+
+            private boolean isFor(List<T> input) {
+                return this.input == input && result != null;
+            }
+
+            private List<T> store(List<T> input, V value, List<T> result) {
+                this.input = input;
+                this.value = value;
+                this.result = result;
+                return result;
+            }
+        }
+
+        private final List<T> items;
+        private final List<Stage<T>> stages = new ArrayList<>();
+
+        private FilteredListBuilder(List<T> items) {
+            this.items = List.copyOf(items);
+        }
+
+        /**
+         * Keeps the items whose key equals the value of {@code keySignal},
+         * or all items when it equals {@code allValue}. The items are
+         * partitioned by key once, so switching keys does not scan the list.
+         */
+        public <K> FilteredListBuilder<T> partitionBy(Function<T, K> keyGetter,
+                Signal<K> keySignal, K allValue) {
+            Memo<T, Map<K, List<T>>> memo = new Memo<>();
+            stages.add(input -> {
+                K key = keySignal.value();
+                if (Objects.equals(key, allValue)) {
+                    return input;
+                }
+                // Upstream stages return the same list while unchanged
+                if (!memo.isFor(input)) {
+                    Map<K, List<T>> partitions = new HashMap<>();
+                    for (T item : input) {
+                        partitions.computeIfAbsent(keyGetter.apply(item),
+                                k -> new ArrayList<>()).add(item);
+                    }
+                    memo.store(input, partitions, input);
+                }
+                return memo.value.getOrDefault(key, List.of());
+            });
+            return this;
+        }
+
+        /**
+         * Keeps the items that match the search term of {@code termSignal};
+         * an empty term keeps all items. The matcher must be narrowing: an
+         * item that matches a term must also match every substring of it,
+         * as with {@code contains}. A term that extends the previous one then
+         * only filters the previous result.
+         */
+        public FilteredListBuilder<T> search(Signal<String> termSignal,
+                BiPredicate<T, String> matcher) {
+            Memo<T, String> memo = new Memo<>();
+            stages.add(input -> {
+                String term = termSignal.value();
+                if (term == null || term.isEmpty()) {
+                    return input;
+                }
+                List<T> source = input;
+                if (memo.isFor(input) && term.contains(memo.value)) {
+                    if (term.equals(memo.value)) {
+                        return memo.result;
+                    }
+                    // Narrowed term, only the previous matches can match
+                    source = memo.result;
+                }
+                return memo.store(input, term, source.stream()
+                        .filter(item -> matcher.test(item, term)).toList());
+            });
+            return this;
+        }
+
+        /**
+         * Keeps the items that pass {@code predicate} for the value of
+         * {@code signal}.
+         */
+        public <V> FilteredListBuilder<T> filter(Signal<V> signal,
+                BiPredicate<T, V> predicate) {
+            Memo<T, V> memo = new Memo<>();
+            stages.add(input -> {
+                V value = signal.value();
+                if (memo.isFor(input) && Objects.equals(memo.value, value)) {
+                    return memo.result;
+                }
+                return memo.store(input, value, input.stream()
+                        .filter(item -> predicate.test(item, value)).toList());
+            });
+            return this;
+        }
+
+        /**
+         * Creates the computed signal. Its value is memoized until one of the
+         * filter signals changes.
+         */
+        public Signal<List<T>> build() {
+            List<Stage<T>> chain = List.copyOf(stages);
+            Object lock = new Object();
+            return Signal.computed(() -> {
+                synchronized (lock) {
+                    List<T> result = items;
+                    for (Stage<T> stage : chain) {
+                        result = stage.apply(result);
+                    }
+                    return result;
+                }
+            });
+        }
+    }
+
     /**
      * Binds a ComboBox's items to a Signal containing a List.
      */
     public static <T> void bindItems(
             com.vaadin.flow.component.combobox.ComboBox<T> comboBox,
             Signal<List<T>> signal) {
-        ComponentEffect.bind(comboBox, signal, (cb, items) -> {
+        EffectScope.trackedBind(comboBox, signal, (cb, items) -> {
             if (items != null) {
                 cb.setItems(items);
             } else {
@@ -69,7 +334,7 @@ public class MissingAPI {
      */
     public static <T> void bindChildren(Component container,
             Signal<List<T>> signal, Function<T, Component> mapper) {
-        ComponentEffect.bind(container, signal, (c, items) -> {
+        EffectScope.trackedBind(container, signal, (c, items) -> {
             c.getElement().removeAllChildren();
             if (items != null) {
                 items.stream().map(mapper).forEach(child -> c.getElement()
@@ -84,7 +349,7 @@ public class MissingAPI {
      */
     public static <T extends Component> void bindChildren(Component container,
             Signal<List<T>> signal) {
-        ComponentEffect.bind(container, signal, (c, items) -> {
+        EffectScope.trackedBind(container, signal, (c, items) -> {
             c.getElement().removeAllChildren();
             if (items != null) {
                 items.forEach(child -> c.getElement()
@@ -93,6 +358,270 @@ public class MissingAPI {
         });
     }
 
+    /**
+     * Binds a component's children to a Signal containing a List, reusing the
+     * child components of unchanged items. Items are identified by the key
+     * returned by {@code keyExtractor}. A child is kept while its key is in
+     * the list and its item is equal to the one it was created from; only the
+     * children that were added, removed, changed or moved are updated in the
+     * DOM. Keys must be unique within the list.
+     */
+    public static <T, K> void bindChildren(Component container,
+            Signal<List<T>> signal, Function<T, K> keyExtractor,
+            Function<T, Component> mapper) {
+        Map<K, KeyedChild<T>> children = new HashMap<>();
+        EffectScope.trackedBind(container, signal, (c, items) -> {
+            Map<K, KeyedChild<T>> previous = new HashMap<>(children);
+            children.clear();
+
+            List<Element> elements = new ArrayList<>();
+            List<Element> stale = new ArrayList<>();
+            for (T item : items != null ? items : List.<T> of()) {
+                K key = keyExtractor.apply(item);
+                KeyedChild<T> child = previous.remove(key);
+                if (child != null && !Objects.equals(child.item(), item)) {
+                    // Changed item, the old child is removed below
+                    stale.add(child.component().getElement());
+                    child = null;
+                }
+                if (child == null) {
+                    child = new KeyedChild<>(item, mapper.apply(item));
+                }
+                if (children.putIfAbsent(key, child) != null) {
+                    throw new IllegalArgumentException(
+                            "Duplicate child key: " + key);
+                }
+                elements.add(child.component().getElement());
+            }
+            previous.values()
+                    .forEach(child -> stale.add(child.component().getElement()));
+
+            Element parent = c.getElement();
+            stale.forEach(Element::removeFromParent);
+            for (int i = 0; i < elements.size(); i++) {
+                Element element = elements.get(i);
+                if (i < parent.getChildCount()
+                        && parent.getChild(i).equals(element)) {
+                    continue;
+                }
+                if (parent.equals(element.getParent())) {
+                    parent.removeChild(element);
+                }
+                parent.insertChild(i, element);
+            }
+            while (parent.getChildCount() > elements.size()) {
+                parent.removeChild(parent.getChildCount() - 1);
+            }
+        });
+    }
+
+    /**
+     * Binds a scrollable container's children to a Signal containing a List,
+     * creating components only for the items in the visible window plus
+     * {@code overscan} items before and after it. The window follows the
+     * client's scroll position, so server memory and render payload do not
+     * grow with the list length. Within the window, children are reconciled
+     * by key as in {@link #bindChildren(Component, Signal, Function, Function)}.
+     * <p>
+     * Items may have different heights. Rendered items are measured in the
+     * browser and their heights, margins included, are remembered by key;
+     * items that have not been rendered yet count as
+     * {@code estimatedItemHeight} pixels. When a measurement or an insert
+     * above the viewport moves the content, the scroll position is adjusted
+     * so that the item at the top of the viewport stays in place. The
+     * container must have a fixed or maximum height; it is made scrollable
+     * and gets a spacer with the height of the full list.
+     */
+    public static <T, K> void bindVirtualChildren(Component container,
+            Signal<List<T>> signal, Function<T, K> keyExtractor,
+            Function<T, Component> mapper, int estimatedItemHeight,
+            int overscan) {
+        if (estimatedItemHeight <= 0 || overscan < 0) {
+            throw new IllegalArgumentException(
+                    "Item height must be positive and overscan non-negative");
+        }
+
+        ValueSignal<Integer> scrollTop = new ValueSignal<>(0);
+        ValueSignal<Integer> viewportHeight = new ValueSignal<>(0);
+        // Measured heights by item key, with a version that changes whenever
+        // a reported height differs from the remembered one
+        Map<K, Integer> measuredHeights = new HashMap<>();
+        ValueSignal<Long> heightsVersion = new ValueSignal<>(0L);
+        // Keys of the rendered components, by the id they report heights with
+        Map<Integer, K> keysById = new HashMap<>();
+        int[] nextId = { 0 };
+        ScrollAnchor<K> anchor = new ScrollAnchor<>();
+
+        Element viewport = container.getElement();
+        // The anchor is kept on the server, the browser must not move it too
+        viewport.getStyle().set("overflow-y", "auto")
+                .set("position", "relative").set("overflow-anchor", "none");
+        Div spacer = new Div();
+        Div window = new Div();
+        // A flex column does not collapse the margins between items
+        window.getStyle().set("position", "absolute").set("left", "0")
+                .set("right", "0").set("display", "flex")
+                .set("flex-direction", "column");
+        viewport.appendChild(spacer.getElement(), window.getElement());
+
+        viewport.addEventListener("scroll", e -> {
+            scrollTop.value(e.getEventData().get("element.scrollTop").asInt());
+            viewportHeight.value(
+                    e.getEventData().get("element.clientHeight").asInt());
+        }).addEventData("element.scrollTop")
+                .addEventData("element.clientHeight")
+                .debounce(50, DebouncePhase.LEADING,
+                        DebouncePhase.INTERMEDIATE, DebouncePhase.TRAILING);
+        // Heights arrive as a flat array of id and height pairs
+        viewport.addEventListener("virtual-heights", e -> {
+            var detail = e.getEventData().get("event.detail");
+            boolean changed = false;
+            for (int i = 0; i + 1 < detail.size(); i += 2) {
+                K key = keysById.get(detail.get(i).asInt());
+                int height = detail.get(i + 1).asInt();
+                if (key != null && height > 0 && !Objects
+                        .equals(measuredHeights.put(key, height), height)) {
+                    changed = true;
+                }
+            }
+            if (changed) {
+                heightsVersion.value(heightsVersion.peek() + 1);
+            }
+        }).addEventData("event.detail");
+        // Start measuring and report the initial viewport size
+        container.addAttachListener(e -> viewport.executeJs("""
+                const viewport = this;
+                const items = $0;
+                if (!viewport.$virtualHeights) {
+                  viewport.$virtualHeights = true;
+                  const pending = new Map();
+                  let frame = 0;
+                  const send = () => {
+                    frame = 0;
+                    const detail = [];
+                    pending.forEach((height, id) => detail.push(id, height));
+                    pending.clear();
+                    viewport.dispatchEvent(
+                        new CustomEvent('virtual-heights', { detail }));
+                  };
+                  const measure = (item) => {
+                    const id = Number(item.getAttribute('data-virtual-id'));
+                    const style = getComputedStyle(item);
+                    const height = Math.round(item.offsetHeight
+                        + parseFloat(style.marginTop)
+                        + parseFloat(style.marginBottom));
+                    if (id && item.$virtualHeight !== height) {
+                      item.$virtualHeight = height;
+                      pending.set(id, height);
+                      frame = frame || requestAnimationFrame(send);
+                    }
+                  };
+                  const resizeObserver = new ResizeObserver(
+                      (entries) => entries.forEach((entry) => measure(entry.target)));
+                  new MutationObserver((records) => records.forEach((record) => {
+                    record.addedNodes.forEach((node) => node.nodeType === 1
+                        && resizeObserver.observe(node));
+                    record.removedNodes.forEach((node) => node.nodeType === 1
+                        && resizeObserver.unobserve(node));
+                  })).observe(items, { childList: true });
+                  Array.from(items.children)
+                      .forEach((item) => resizeObserver.observe(item));
+                }
+                viewport.dispatchEvent(new Event('scroll'));
+                """, window.getElement()));
+
+        // Offset of every item from the top of the list, followed by the
+        // height of the full list
+        Signal<int[]> offsets = Signal.computed(() -> {
+            List<T> items = signal.value();
+            heightsVersion.value();
+            int size = items != null ? items.size() : 0;
+            int[] result = new int[size + 1];
+            for (int i = 0; i < size; i++) {
+                Integer height = measuredHeights
+                        .get(keyExtractor.apply(items.get(i)));
+                result[i + 1] = result[i]
+                        + (height != null ? height : estimatedItemHeight);
+            }
+            return result;
+        });
+        Signal<Integer> firstIndex = Signal.computed(() -> Math.max(0,
+                indexAt(offsets.value(), scrollTop.value()) - overscan));
+        Signal<List<T>> visibleItems = Signal.computed(() -> {
+            List<T> items = signal.value();
+            if (items == null) {
+                return List.of();
+            }
+            int last = Math.min(items.size(), indexAt(offsets.value(),
+                    scrollTop.value() + viewportHeight.value()) + 1
+                    + overscan);
+            int first = Math.min(firstIndex.value(), last);
+            return List.copyOf(items.subList(first, last));
+        });
+
+        EffectScope.trackedEffect(container, () -> {
+            List<T> items = signal.value();
+            int[] layout = offsets.value();
+            int size = layout.length - 1;
+            int top = scrollTop.value();
+
+            // The layout changed without the user scrolling: scroll to where
+            // the anchor item is now
+            if (anchor.key != null && top == anchor.scrollTop) {
+                int index = anchor.index < size && anchor.key
+                        .equals(keyExtractor.apply(items.get(anchor.index)))
+                                ? anchor.index
+                                : items.stream().map(keyExtractor).toList()
+                                        .indexOf(anchor.key);
+                if (index >= 0 && layout[index] + anchor.delta != top) {
+                    top = layout[index] + anchor.delta;
+                    viewport.executeJs("this.scrollTop = $0", top);
+                }
+            }
+            anchor.index = indexAt(layout, top);
+            anchor.key = anchor.index < size
+                    ? keyExtractor.apply(items.get(anchor.index))
+                    : null;
+            anchor.delta = top - layout[anchor.index];
+            anchor.scrollTop = top;
+
+            // Forget heights of items that were removed from the list
+            if (measuredHeights.size() > size) {
+                measuredHeights.keySet().retainAll(items.stream()
+                        .map(keyExtractor).collect(Collectors.toSet()));
+            }
+
+            spacer.getStyle().set("height", layout[size] + "px");
+            window.getStyle().set("top",
+                    layout[Math.min(firstIndex.value(), size)] + "px");
+        });
+        // Rendered components are tagged with the id they report heights with
+        EffectScope.trackedEffect(window,
+                () -> keysById.values().retainAll(visibleItems.value().stream()
+                        .map(keyExtractor).collect(Collectors.toSet())));
+        bindChildren(window, visibleItems, keyExtractor, item -> {
+            Component component = mapper.apply(item);
+            int id = ++nextId[0];
+            keysById.put(id, keyExtractor.apply(item));
+            component.getElement().setAttribute("data-virtual-id",
+                    String.valueOf(id));
+            return component;
+        });
+    }
+
+    /**
+     * Index of the item at the given vertical position, or of the last item
+     * if the position is below the list.
+     */
+    private static int indexAt(int[] offsets, int position) {
+        int size = offsets.length - 1;
+        if (size == 0) {
+            return 0;
+        }
+        int index = Arrays.binarySearch(offsets, 0, size, position);
+        return Math.max(0, index >= 0 ? index : -index - 2);
+    }
+
     /**
      * Binds a component's children using ComponentProvider pattern (for
      * advanced use cases).
@@ -102,13 +631,353 @@ public class MissingAPI {
         bindChildren(container, signal, mapper);
     }
 
+    /**
+     * Creates a placeholder that shows the component returned by the factory
+     * while the condition is true. Unlike {@code bindVisible}, the component
+     * and its effects are not created until the condition first becomes true;
+     * after that it is only hidden and shown.
+     */
+    public static Component lazyWhen(Signal<Boolean> condition,
+            Supplier<? extends Component> factory) {
+        return lazyWhen(condition, factory, null);
+    }
+
+    /**
+     * Creates a placeholder that shows the component returned by the factory
+     * while the condition is true, creating it when the condition first becomes
+     * true. Once the component has been hidden for {@code disposeAfter}, it is
+     * removed, which also stops its effects, and created again from the factory
+     * the next time the condition becomes true. The factory must therefore
+     * initialize the component from signals or other state that outlives it.
+     *
+     * @param disposeAfter
+     *            how long to keep a hidden component, or {@code null} to keep
+     *            it as long as the placeholder
+     */
+    public static Component lazyWhen(Signal<Boolean> condition,
+            Supplier<? extends Component> factory, Duration disposeAfter) {
+        Div placeholder = new Div();
+        placeholder.getStyle().set("display", "contents");
+        LazyContent content = new LazyContent();
+
+        EffectScope.trackedEffect(placeholder, () -> {
+            boolean visible = Boolean.TRUE.equals(condition.value());
+            if (content.disposal != null) {
+                content.disposal.remove();
+                content.disposal = null;
+            }
+            if (visible) {
+                if (content.component == null) {
+                    // Signals read while building belong to the content's own
+                    // effects, not to this one
+                    content.component = Signal.untracked(factory::get);
+                    placeholder.add(content.component);
+                }
+                content.component.setVisible(true);
+            } else if (content.component != null) {
+                content.component.setVisible(false);
+                if (disposeAfter != null) {
+                    content.disposal = schedule(placeholder, disposeAfter,
+                            () -> {
+                                placeholder.remove(content.component);
+                                content.component = null;
+                                content.disposal = null;
+                            });
+                }
+            }
+        });
+        return placeholder;
+    }
+
+    /**
+     * Binds a component's text to a Signal, updating it at most
+     * {@code maxUpdatesPerSecond} times per second. Intermediate values are
+     * dropped and the latest value is always applied, at the latest one
+     * interval after it was set.
+     */
+    public static <C extends Component & HasText> void bindText(C component,
+            Signal<String> signal, int maxUpdatesPerSecond) {
+        bindRateLimited(component, signal, maxUpdatesPerSecond,
+                component::setText);
+    }
+
+    /**
+     * Binds an element property of a component to a Signal, updating it at
+     * most {@code maxUpdatesPerSecond} times per second. See
+     * {@link #bindText(Component, Signal, int)}.
+     */
+    public static void bindProperty(Component component, String name,
+            Signal<String> signal, int maxUpdatesPerSecond) {
+        bindRateLimited(component, signal, maxUpdatesPerSecond,
+                value -> component.getElement().setProperty(name, value));
+    }
+
+    /**
+     * Binds an inline style property of a component to a Signal, updating it
+     * at most {@code maxUpdatesPerSecond} times per second. See
+     * {@link #bindText(Component, Signal, int)}.
+     */
+    public static void bindStyle(Component component, String name,
+            Signal<String> signal, int maxUpdatesPerSecond) {
+        bindRateLimited(component, signal, maxUpdatesPerSecond,
+                value -> component.getStyle().set(name, value));
+    }
+
+    /**
+     * Binds an attribute of an element that has no component of its own, e.g.
+     * an SVG shape, to a Signal, updating it at most
+     * {@code maxUpdatesPerSecond} times per second. The binding is active
+     * while {@code owner} is attached. See
+     * {@link #bindText(Component, Signal, int)}.
+     */
+    public static void bindAttribute(Component owner, Element element,
+            String name, Signal<String> signal, int maxUpdatesPerSecond) {
+        bindRateLimited(owner, signal, maxUpdatesPerSecond,
+                value -> element.setAttribute(name, value));
+    }
+
+    private static <T> void bindRateLimited(Component owner, Signal<T> signal,
+            int maxUpdatesPerSecond, Consumer<T> setter) {
+        if (maxUpdatesPerSecond <= 0) {
+            throw new IllegalArgumentException(
+                    "Update rate must be positive: " + maxUpdatesPerSecond);
+        }
+        bindRateLimited(owner, signal,
+                TimeUnit.SECONDS.toNanos(1) / maxUpdatesPerSecond, setter);
+    }
+
+    private static <T> void bindRateLimited(Component owner, Signal<T> signal,
+            long intervalNanos, Consumer<T> setter) {
+        RateLimitState<T> state = new RateLimitState<>();
+
+        // The effect, the flush and the detach listener all run with the
+        // session locked
+        EffectScope.trackedEffect(owner, () -> {
+            T value = signal.value();
+            long sinceApplied = System.nanoTime() - state.lastApplied;
+            if (state.flush == null && sinceApplied >= intervalNanos) {
+                setter.accept(value);
+                state.lastApplied = System.nanoTime();
+                return;
+            }
+
+            // Keep only the latest value until the interval has passed
+            state.pending = value;
+            if (state.flush == null) {
+                UI ui = owner.getUI().orElseThrow();
+                long generation = state.generation;
+                state.flush = SCHEDULER.schedule(() -> access(ui, () -> {
+                    if (state.generation != generation
+                            || !owner.isAttached()) {
+                        return;
+                    }
+                    try {
+                        setter.accept(state.pending);
+                    } finally {
+                        state.flush = null;
+                        state.pending = null;
+                        state.lastApplied = System.nanoTime();
+                    }
+                }), intervalNanos - sinceApplied, TimeUnit.NANOSECONDS);
+            }
+        });
+
+        // A flush that has not run yet would never run if the UI is closed,
+        // which would block the binding after a reattach. The effect applies
+        // the current value again when the owner is attached.
+        owner.addDetachListener(event -> {
+            state.generation++;
+            if (state.flush != null) {
+                state.flush.cancel(false);
+                state.flush = null;
+                state.pending = null;
+            }
+        });
+    }
+
+    /**
+     * Runs a task with the owner's UI locked after a delay, on the shared
+     * scheduler. The task is cancelled if the owner is detached before it
+     * runs, or when the returned registration is removed.
+     *
+     * @throws IllegalStateException
+     *             if the owner is not attached
+     */
+    public static Registration schedule(Component owner, Duration delay,
+            Runnable task) {
+        UI ui = owner.getUI().orElseThrow(() -> new IllegalStateException(
+                "Component must be attached to schedule a task"));
+        AtomicReference<ScheduledFuture<?>> future = new AtomicReference<>();
+        Registration detachRegistration = owner.addDetachListener(event -> {
+            future.get().cancel(false);
+            event.unregisterListener();
+        });
+        future.set(SCHEDULER.schedule(() -> access(ui, () -> {
+            detachRegistration.remove();
+            // Queued with the UI just before the owner was detached
+            if (owner.isAttached()) {
+                task.run();
+            }
+        }), delay.toNanos(), TimeUnit.NANOSECONDS));
+        return () -> {
+            future.get().cancel(false);
+            detachRegistration.remove();
+        };
+    }
+
+    /**
+     * Stops the shared scheduler, cancelling all pending delayed tasks. Called
+     * when the application context is closed.
+     */
+    public static void shutdownScheduler() {
+        SCHEDULER.shutdownNow();
+    }
+
+    /**
+     * Derives a signal that takes the value of the source once the source has
+     * not changed for {@code delay}. Pending updates are dropped when the
+     * owner is detached.
+     */
+    public static <T> Signal<T> debounce(Component owner, Signal<T> source,
+            Duration delay) {
+        WritableSignal<T> debounced = new ValueSignal<>(source.peek());
+        AtomicReference<Registration> pending = new AtomicReference<>();
+        EffectScope.trackedEffect(owner, () -> {
+            T value = source.value();
+            Registration previous = pending.getAndSet(
+                    schedule(owner, delay, () -> debounced.value(value)));
+            if (previous != null) {
+                previous.remove();
+            }
+        });
+        return debounced;
+    }
+
+    /**
+     * Derives a signal that follows the source at most once per
+     * {@code interval}. The first change is applied immediately, later ones
+     * are dropped except for the latest, which is applied when the interval
+     * has passed. Unlike {@link #debounce}, a source that keeps changing is
+     * still followed.
+     */
+    public static <T> Signal<T> throttle(Component owner, Signal<T> source,
+            Duration interval) {
+        WritableSignal<T> throttled = new ValueSignal<>(source.peek());
+        bindRateLimited(owner, source, interval.toNanos(), throttled::value);
+        return throttled;
+    }
+
+    /**
+     * Derives a signal that takes the current value of the source every
+     * {@code period} while the owner is attached, regardless of how often the
+     * source changes in between.
+     */
+    public static <T> Signal<T> sample(Component owner, Signal<T> source,
+            Duration period) {
+        WritableSignal<T> sampled = new ValueSignal<>(source.peek());
+        AtomicReference<ScheduledFuture<?>> sampler = new AtomicReference<>();
+        Consumer<UI> start = ui -> {
+            ScheduledFuture<?> previous = sampler.getAndSet(
+                    SCHEDULER.scheduleAtFixedRate(() -> access(ui, () -> {
+                        // A sample queued just before a detach is skipped
+                        if (!owner.isAttached()) {
+                            return;
+                        }
+                        T value = source.peek();
+                        if (!Objects.equals(value, sampled.peek())) {
+                            sampled.value(value);
+                        }
+                    }), period.toNanos(), period.toNanos(),
+                            TimeUnit.NANOSECONDS));
+            if (previous != null) {
+                previous.cancel(false);
+            }
+        };
+
+        owner.getUI().ifPresent(start);
+        owner.addAttachListener(event -> start.accept(event.getUI()));
+        owner.addDetachListener(event -> {
+            ScheduledFuture<?> future = sampler.getAndSet(null);
+            if (future != null) {
+                future.cancel(false);
+            }
+        });
+        return sampled;
+    }
+
+    private static void access(UI ui, Runnable command) {
+        try {
+            ui.access(command::run);
+        } catch (UIDetachedException e) {
+            // The UI was closed, nothing to update
+        }
+    }
+
+    /**
+     * Creates a signal for a value that is computed asynchronously, e.g. by a
+     * backend call. The supplier runs in an effect owned by {@code owner}, so
+     * the signals it reads are its dependencies; it must start the work and
+     * return a future instead of blocking. When a dependency changes, the
+     * in-flight future is cancelled and the supplier is run again. Results are
+     * applied with {@code ui.access}; the state is loading while a future is
+     * in flight, keeping the previous data, and then success or error.
+     */
+    public static <T> Signal<LoadingState<T>> asyncComputed(Component owner,
+            Supplier<CompletableFuture<T>> supplier) {
+        WritableSignal<LoadingState<T>> state = new ValueSignal<>(
+                LoadingState.idle());
+        AtomicReference<CompletableFuture<T>> inFlight = new AtomicReference<>();
+
+        EffectScope.trackedEffect(owner, () -> {
+            CompletableFuture<T> future = supplier.get();
+            CompletableFuture<T> previous = inFlight.getAndSet(future);
+            if (previous != null) {
+                previous.cancel(true);
+            }
+
+            LoadingState<T> loading = LoadingState.loading();
+            loading.setData(state.peek().getData());
+            state.value(loading);
+
+            UI ui = owner.getUI().orElseThrow();
+            future.whenComplete((value, error) -> {
+                try {
+                    ui.access(() -> {
+                        // Ignore results of superseded futures
+                        if (inFlight.compareAndSet(future, null)) {
+                            state.value(error == null
+                                    ? LoadingState.success(value)
+                                    : LoadingState.error(errorMessage(error)));
+                        }
+                    });
+                } catch (UIDetachedException e) {
+                    // Nothing to update anymore
+                }
+            });
+        });
+        owner.addDetachListener(event -> {
+            CompletableFuture<T> future = inFlight.getAndSet(null);
+            if (future != null) {
+                future.cancel(true);
+            }
+        });
+        return state;
+    }
+
+    private static String errorMessage(Throwable error) {
+        Throwable cause = error instanceof CompletionException
+                && error.getCause() != null ? error.getCause() : error;
+        return cause.getMessage() != null ? cause.getMessage()
+                : cause.getClass().getSimpleName();
+    }
+
     /**
      * Binds the browser document title to a Signal. The UI is used to get the
      * page and execute JavaScript to update document.title.
      */
     public static void bindBrowserTitle(com.vaadin.flow.component.UI ui,
             Signal<String> signal) {
-        ComponentEffect.effect(ui, () -> {
+        EffectScope.trackedEffect(ui, () -> {
             String title = signal.value();
             if (title != null) {
                 ui.getPage().setTitle(title);
@@ -123,7 +992,7 @@ public class MissingAPI {
             com.vaadin.flow.component.HasValidation component,
             Signal<Boolean> signal) {
         component.setManualValidation(true);
-        ComponentEffect.bind((Component) component, signal,
+        EffectScope.trackedBind((Component) component, signal,
                 (c, invalid) -> ((com.vaadin.flow.component.HasValidation) c)
                         .setInvalid(invalid));
     }
@@ -168,7 +1037,7 @@ public class MissingAPI {
     public static void binderValidateInEffect(Binder<?> binder,
             Component effectOwner, String validatedBindingProperty,
             Signal<?>... triggerSignals) {
-        ComponentEffect.effect(effectOwner, () -> {
+        EffectScope.trackedEffect(effectOwner, () -> {
             Stream.of(triggerSignals).forEach(Signal::value);
             binder.getBinding(validatedBindingProperty)
                     .ifPresent(Binder.Binding::validate);
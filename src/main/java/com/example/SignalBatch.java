@@ -0,0 +1,172 @@
+package com.example;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.BooleanSupplier;
+import java.util.function.UnaryOperator;
+
+import com.vaadin.signals.Signal;
+import com.vaadin.signals.WritableSignal;
+
+/**
+ * Collects writes to several signals and commits them together in one signal
+ * transaction. Observers never see a partially applied batch, and effects that
+ * depend on several of the written signals are invalidated by one change
+ * instead of one per write. Writes that would not change a value are dropped.
+ *
+ * Only shared signals can take part in transactions, so local signals must not
+ * be written in a batch. Primitive signals such as
+ * {@link com.example.signals.PointSignal} are not transactional either; a
+ * write to one in a batch is visible right away.
+ *
+ * <pre>
+ * new SignalBatch().set(leftSignal, 10).set(topSignal, 20)
+ *         .update(roundSignal, round -> round + 1).commit();
+ * </pre>
+ */
+public final class SignalBatch {
+
+    /**
+     * Totals of all batches committed since startup.
+     *
+     * @param committedBatches
+     *            the number of committed batches
+     * @param batchedWrites
+     *            the number of writes added to committed batches
+     * @param changedWrites
+     *            the number of those writes that changed a value
+     * @param mergedChanges
+     *            the number of value changes that were published together
+     *            with another change of the same batch instead of as a
+     *            change of their own
+     */
+    public record Statistics(long committedBatches, long batchedWrites,
+            long changedWrites, long mergedChanges) {
+    }
+
+    private static final LongAdder committedBatches = new LongAdder();
+    private static final LongAdder batchedWrites = new LongAdder();
+    private static final LongAdder changedWrites = new LongAdder();
+    private static final LongAdder mergedChanges = new LongAdder();
+
+    // Each write returns whether it changed a value
+    private final List<BooleanSupplier> writes = new ArrayList<>();
+
+    /**
+     * Add a write of a value. It is skipped if the signal already has an
+     * equal value.
+     */
+    public <T> SignalBatch set(WritableSignal<T> signal, T value) {
+        writes.add(() -> {
+            if (Objects.equals(signal.value(), value)) {
+                return false;
+            }
+            signal.value(value);
+            return true;
+        });
+        return this;
+    }
+
+    /**
+     * Add a write of a value computed from the signal's value at commit time.
+     * It is skipped if the computed value is equal to the current one.
+     */
+    public <T> SignalBatch update(WritableSignal<T> signal,
+            UnaryOperator<T> updater) {
+        writes.add(() -> {
+            T current = signal.value();
+            T updated = updater.apply(current);
+            if (Objects.equals(current, updated)) {
+                return false;
+            }
+            signal.value(updated);
+            return true;
+        });
+        return this;
+    }
+
+    /**
+     * Add an arbitrary signal operation, e.g. a write to a map or list signal.
+     */
+    public SignalBatch run(Runnable operation) {
+        writes.add(() -> {
+            operation.run();
+            return true;
+        });
+        return this;
+    }
+
+    /**
+     * Apply all added writes in one transaction. The batch is empty
+     * afterwards and can be reused.
+     */
+    public void commit() {
+        if (writes.isEmpty()) {
+            return;
+        }
+        List<BooleanSupplier> pending = List.copyOf(writes);
+        writes.clear();
+
+        int[] changed = new int[1];
+        Signal.runInTransaction(() -> {
+            changed[0] = 0;
+            for (BooleanSupplier write : pending) {
+                if (write.getAsBoolean()) {
+                    changed[0]++;
+                }
+            }
+        });
+
+        // Unbatched, every changing write would have been a change of its
+        // own; the batch publishes them as one. Writes that changed nothing
+        // are not counted as merged.
+        committedBatches.increment();
+        batchedWrites.add(pending.size());
+        changedWrites.add(changed[0]);
+        mergedChanges.add(Math.max(0, changed[0] - 1));
+    }
+
+    /**
+     * Get the totals of all batches committed since startup. The totals are
+     * not a signal, so that committing a batch does not publish a change of
+     * its own; views read them on demand or poll them.
+     */
+    public static Statistics getStatistics() {
+        return new Statistics(committedBatches.sum(), batchedWrites.sum(),
+                changedWrites.sum(), mergedChanges.sum());
+    }
+
+    /**
+     * Get the number of batches committed since startup.
+     */
+    public static long getCommittedBatchCount() {
+        return committedBatches.sum();
+    }
+
+    /**
+     * Get the number of writes added to committed batches since startup.
+     */
+    public static long getBatchedWriteCount() {
+        return batchedWrites.sum();
+    }
+
+    /**
+     * Get the number of writes in committed batches that changed a value
+     * since startup.
+     */
+    public static long getChangedWriteCount() {
+        return changedWrites.sum();
+    }
+
+    /**
+     * Get the number of value changes since startup that were published
+     * together with another change of the same batch. This is an upper bound
+     * for the dependent effect executions avoided by batching: effects that
+     * depend on only one of the changed signals run once either way.
+     */
+    public static long getMergedChangeCount() {
+        return mergedChanges.sum();
+    }
+}
@@ -1,10 +1,19 @@
 package com.example.listeners;
 
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
 
 import com.example.security.SecurityService;
 import com.example.signals.SessionIdHelper;
+import com.example.signals.SessionKey;
 import com.example.signals.UserSessionRegistry;
+import com.vaadin.flow.component.UI;
 import com.vaadin.flow.server.HandlerHelper;
 import com.vaadin.flow.server.ServiceInitEvent;
 import com.vaadin.flow.server.VaadinRequest;
@@ -12,6 +21,7 @@ import com.vaadin.flow.server.VaadinRequestInterceptor;
 import com.vaadin.flow.server.VaadinResponse;
 import com.vaadin.flow.server.VaadinServiceInitListener;
 import com.vaadin.flow.server.VaadinSession;
+import com.vaadin.flow.shared.ApplicationConstants;
 
 /**
  * Global interceptor that tracks all user interactions by intercepting UIDL
@@ -22,8 +32,15 @@ import com.vaadin.flow.server.VaadinSession;
  * - Component interactions
  * - Navigation events
  *
- * This interceptor automatically updates the last interaction time in the
- * UserSessionRegistry for active sessions.
+ * Interactions are recorded on the request thread into an in-memory table of
+ * last-seen times per session, without taking the session lock. The table is
+ * flushed to the UserSessionRegistry on a fixed cadence, and a session is only
+ * written when its last-seen time moved into a new granularity interval, so a
+ * burst of keystrokes becomes at most one signal write per interval.
+ *
+ * A session that was removed by the idle session reaper while its tab stayed
+ * open is registered again on its next interaction, on the route its UI
+ * currently shows.
  *
  * Uses VaadinRequestInterceptor (since Flow 24.2) which is specifically
  * designed for aspect-like request observation without interfering with
@@ -34,11 +51,28 @@ public class UserInteractionTracker implements VaadinServiceInitListener {
 
     private final UserSessionRegistry userSessionRegistry;
     private final SecurityService securityService;
+    private final long granularityMillis;
+
+    // Last-seen time per session, written by request threads
+    private final Map<SessionKey, PendingInteraction> pendingInteractions = new ConcurrentHashMap<>();
+
+    private final LongAdder recordedInteractions = new LongAdder();
+    private final LongAdder flushedWrites = new LongAdder();
+    private final LongAdder reregisteredSessions = new LongAdder();
+    private final LongAdder droppedEntries = new LongAdder();
+
+    private static final class PendingInteraction {
+        private final AtomicLong lastSeen = new AtomicLong();
+        // Only accessed by the flushing thread
+        private long lastFlushed;
+    }
 
     public UserInteractionTracker(UserSessionRegistry userSessionRegistry,
-            SecurityService securityService) {
+            SecurityService securityService,
+            @Value("${app.interaction-tracker.granularity-ms:1000}") long granularityMillis) {
         this.userSessionRegistry = userSessionRegistry;
         this.securityService = securityService;
+        this.granularityMillis = Math.max(1, granularityMillis);
     }
 
     @Override
@@ -50,10 +84,7 @@ public class UserInteractionTracker implements VaadinServiceInitListener {
                 // Only track UIDL requests (user interactions)
                 if (HandlerHelper.isRequestType(request,
                         HandlerHelper.RequestType.UIDL)) {
-                    VaadinSession session = VaadinSession.getCurrent();
-                    if (session != null) {
-                        trackInteraction(session);
-                    }
+                    trackInteraction(request);
                 }
             }
 
@@ -67,26 +98,128 @@ public class UserInteractionTracker implements VaadinServiceInitListener {
             @Override
             public void requestEnd(VaadinRequest request,
                     VaadinResponse response, VaadinSession session) {
-                // No action needed at request end
+                if (session != null && HandlerHelper.isRequestType(request,
+                        HandlerHelper.RequestType.UIDL)) {
+                    registerAgainIfReaped(request, session);
+                }
             }
         });
     }
 
-    private void trackInteraction(VaadinSession session) {
-        // Access session synchronously to get user information
-        session.access(() -> {
-            try {
-                String username = securityService.getUsername();
-                String sessionId = SessionIdHelper.getCurrentSessionId();
+    private void trackInteraction(VaadinRequest request) {
+        try {
+            String username = securityService.getUsername();
+            String sessionId = SessionIdHelper.getSessionId(request);
 
-                if (username != null && sessionId != null) {
-                    userSessionRegistry.updateLastInteraction(username,
-                            sessionId);
+            if (username != null && sessionId != null) {
+                SessionKey sessionKey = SessionKey.of(username, sessionId);
+                PendingInteraction pending = pendingInteractions.get(sessionKey);
+                if (pending == null) {
+                    pending = pendingInteractions.computeIfAbsent(sessionKey,
+                            key -> new PendingInteraction());
+                }
+                pending.lastSeen.accumulateAndGet(System.currentTimeMillis(),
+                        Math::max);
+                recordedInteractions.increment();
+            }
+        } catch (Exception e) {
+            // Silently ignore errors - don't break request handling
+            // This can happen if the session is closing
+        }
+    }
+
+    private void registerAgainIfReaped(VaadinRequest request,
+            VaadinSession session) {
+        try {
+            String username = securityService.getUsername();
+            String sessionId = SessionIdHelper.getSessionId(request);
+            if (username == null || sessionId == null || userSessionRegistry
+                    .isSessionActive(username, sessionId)) {
+                return;
+            }
+
+            int uiId = Integer.parseInt(
+                    request.getParameter(ApplicationConstants.UI_ID_PARAMETER));
+            session.access(() -> {
+                UI ui = session.getUIById(uiId);
+                // Tabs being closed unregister themselves and stay that way
+                if (ui != null && !ui.isClosing() && !userSessionRegistry
+                        .isSessionActive(username, sessionId)) {
+                    userSessionRegistry.registerUser(username, sessionId,
+                            ui.getActiveViewLocation().getPath());
+                    reregisteredSessions.increment();
+                }
+            });
+        } catch (Exception e) {
+            // Silently ignore errors - don't break request handling
+        }
+    }
+
+    /**
+     * Writes the recorded interactions to the registry. Sessions whose
+     * last-seen time is still in the same granularity interval as the last
+     * flushed value are skipped. Entries of sessions that are no longer
+     * registered, e.g. closed tabs, are dropped together with their last
+     * interaction time, and counted in {@link #getDroppedEntryCount()}.
+     */
+    @Scheduled(fixedDelayString = "${app.interaction-tracker.flush-interval-ms:1000}")
+    public void flush() {
+        pendingInteractions.forEach((sessionKey, pending) -> {
+            long lastSeen = pending.lastSeen.get();
+            if (lastSeen / granularityMillis == pending.lastFlushed
+                    / granularityMillis) {
+                return;
+            }
+
+            if (userSessionRegistry.updateLastInteraction(
+                    sessionKey.username(), sessionKey.sessionId(), lastSeen)) {
+                pending.lastFlushed = lastSeen;
+                flushedWrites.increment();
+            } else {
+                // Session was unregistered
+                if (pendingInteractions.remove(sessionKey, pending)) {
+                    droppedEntries.increment();
                 }
-            } catch (Exception e) {
-                // Silently ignore errors - don't break request handling
-                // This can happen if UI is not available or session is closing
             }
         });
     }
+
+    /**
+     * Get the number of interactions recorded since startup.
+     */
+    public long getRecordedInteractionCount() {
+        return recordedInteractions.sum();
+    }
+
+    /**
+     * Get the number of last interaction writes made to the registry since
+     * startup.
+     */
+    public long getFlushedWriteCount() {
+        return flushedWrites.sum();
+    }
+
+    /**
+     * Get the number of pending interactions dropped by a flush because their
+     * session was no longer registered.
+     */
+    public long getDroppedEntryCount() {
+        return droppedEntries.sum();
+    }
+
+    /**
+     * Get the number of sessions that were registered again after being
+     * reaped while idle.
+     */
+    public long getReregisteredSessionCount() {
+        return reregisteredSessions.sum();
+    }
+
+    /**
+     * Get the number of recorded interactions that did not need a registry
+     * write of their own because they were coalesced with another one.
+     */
+    public long getCoalescedWriteCount() {
+        return Math.max(0, getRecordedInteractionCount() - getFlushedWriteCount());
+    }
 }
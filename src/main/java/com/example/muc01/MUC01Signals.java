@@ -1,14 +1,52 @@
 package com.example.muc01;
 
+import java.time.Instant;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
 
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
 
+import jakarta.annotation.PostConstruct;
+
+import com.example.SignalBatch;
+import com.vaadin.signals.Signal;
 import com.vaadin.signals.shared.SharedListSignal;
+import com.vaadin.signals.shared.SharedValueSignal;
 
 /**
  * Application-scoped signals for MUC01: Shared Chat
+ *
+ * Every message is appended to the {@link MessageArchive}. The messages signal
+ * holds only the most recent ones, so its size and the state sent to new
+ * subscribers stay bounded; older messages are read from the archive a page
+ * at a time.
+ *
+ * New messages are not inserted into the messages signal one by one. They are
+ * collected for a short window and flushed as one transaction per tick, so a
+ * burst of messages from many writers reaches every connected UI as one
+ * change. The message count is updated in the same transaction, so it never
+ * runs ahead of the list. If the periodic flush falls behind, a timer started
+ * when the first message is queued flushes it once the latency cap is
+ * reached.
+ *
+ * Writing a message to the archive does not hold the monitor of this class,
+ * so a slow disk does not block flushes or readers. Messages are queued by
+ * archive index and a flush only takes the messages up to the first one that
+ * is still being written, so the signal keeps archive order.
  */
 @Component
 public class MUC01Signals {
@@ -26,16 +64,247 @@ public class MUC01Signals {
 
     private final SharedListSignal<Message> messagesSignal = new SharedListSignal<>(
             Message.class);
+    private final SharedValueSignal<Long> messageCountSignal = new SharedValueSignal<>(
+            0L);
+    private final MessageArchive archive;
+    private final MessageSearchIndex searchIndex;
+    private final int liveWindowSize;
+    private final long maxLatencyNanos;
+    private final TaskScheduler taskScheduler;
+
+    // Held shared by appending threads, exclusive when clearing
+    private final ReadWriteLock clearLock = new ReentrantReadWriteLock();
+    // Archived messages not yet in the messages signal by archive index,
+    // guarded by this
+    private final NavigableMap<Long, Message> pendingMessages = new TreeMap<>();
+    // Archive index of the next message to insert into the messages signal
+    private long nextLiveIndex;
+    private long oldestPendingNanos;
+    private ScheduledFuture<?> latencyCapFlush;
+
+    private final LongAdder flushes = new LongAdder();
+    private final LongAdder flushedMessages = new LongAdder();
+    private final LongAdder flushLatencyNanos = new LongAdder();
+    private final LongAccumulator maxFlushLatencyNanos = new LongAccumulator(
+            Math::max, 0);
+
+    public MUC01Signals(MessageArchive archive, MessageSearchIndex searchIndex,
+            TaskScheduler taskScheduler,
+            @Value("${app.chat-archive.live-window:200}") int liveWindowSize,
+            @Value("${app.chat-fanout.max-latency-ms:200}") long maxLatencyMillis) {
+        if (liveWindowSize <= 0) {
+            throw new IllegalArgumentException(
+                    "Live window size must be positive: " + liveWindowSize);
+        }
+        this.archive = archive;
+        this.searchIndex = searchIndex;
+        this.taskScheduler = taskScheduler;
+        this.liveWindowSize = liveWindowSize;
+        this.maxLatencyNanos = TimeUnit.MILLISECONDS.toNanos(maxLatencyMillis);
+    }
 
+    /**
+     * Rebuild the live window from the newest archived messages after a
+     * restart.
+     */
+    @PostConstruct
+    public synchronized void restoreLiveWindow() {
+        long count = archive.size();
+        archive.read(Math.max(0, count - liveWindowSize), liveWindowSize)
+                .forEach(messagesSignal::insertLast);
+        nextLiveIndex = count;
+        messageCountSignal.value(count);
+    }
+
+    /**
+     * Get the signal with the most recent messages.
+     */
     public SharedListSignal<Message> getMessagesSignal() {
         return messagesSignal;
     }
 
+    /**
+     * Get the signal with the number of messages, including archived ones.
+     */
+    public Signal<Long> getMessageCountSignal() {
+        return messageCountSignal;
+    }
+
+    /**
+     * Get the archive index of the oldest message in the messages signal.
+     * Messages before it can be read with {@link #getArchivedMessages}.
+     */
+    public synchronized long getFirstLiveIndex() {
+        return nextLiveIndex - messagesSignal.peek().size();
+    }
+
+    /**
+     * Read archived messages, in order, starting at an archive index.
+     */
+    public List<Message> getArchivedMessages(long fromIndex, int count) {
+        return archive.read(fromIndex, count);
+    }
+
+    /**
+     * Search the most recent messages, including archived ones, for all
+     * words of a query. Only the newest {@link #getSearchableMessageCount()}
+     * messages are searched.
+     *
+     * @return at most {@code limit} hits, newest first
+     */
+    public List<MessageSearchIndex.SearchHit> searchMessages(String query,
+            int limit) {
+        return searchIndex.search(query, limit);
+    }
+
+    /**
+     * Get the number of newest messages covered by
+     * {@link #searchMessages(String, int)}.
+     */
+    public int getSearchableMessageCount() {
+        return searchIndex.getMaxIndexedMessages();
+    }
+
+    /**
+     * Archive a message and queue it for the next flush to the messages
+     * signal. Authors longer than {@link MessageArchive#MAX_NAME_LENGTH} are
+     * shortened, since display names are chosen by users.
+     */
     public void appendMessage(Message message) {
-        messagesSignal.insertLast(message);
+        if (message.author().length() > MessageArchive.MAX_NAME_LENGTH) {
+            message = new Message(message.username(),
+                    message.author().substring(0,
+                            MessageArchive.MAX_NAME_LENGTH),
+                    message.text(), message.timestamp());
+        }
+        clearLock.readLock().lock();
+        try {
+            enqueue(archive.append(message), message);
+        } finally {
+            clearLock.readLock().unlock();
+        }
+    }
+
+    private synchronized void enqueue(long index, Message message) {
+        if (pendingMessages.isEmpty()) {
+            oldestPendingNanos = System.nanoTime();
+            latencyCapFlush = taskScheduler.schedule(this::flushPendingMessages,
+                    Instant.now().plusNanos(maxLatencyNanos));
+        }
+        pendingMessages.put(index, message);
+    }
+
+    /**
+     * Insert the queued messages into the messages signal and update the
+     * message count in one transaction, dropping the oldest live messages
+     * beyond the live window. Messages queued after one that is still being
+     * archived wait for the next flush.
+     */
+    @Scheduled(fixedDelayString = "${app.chat-fanout.window-ms:50}")
+    public synchronized void flushPendingMessages() {
+        List<Message> ready = new ArrayList<>();
+        Map.Entry<Long, Message> next;
+        while ((next = pendingMessages.firstEntry()) != null
+                && next.getKey() == nextLiveIndex) {
+            pendingMessages.pollFirstEntry();
+            searchIndex.add(nextLiveIndex++, next.getValue());
+            ready.add(next.getValue());
+        }
+        if (ready.isEmpty()) {
+            return;
+        }
+        cancelLatencyCapFlush();
+        int pending = ready.size();
+
+        // Messages that would be dropped right away are not inserted at all
+        List<Message> inserted = ready.subList(
+                Math.max(0, pending - liveWindowSize), pending);
+        List<SharedValueSignal<Message>> live = messagesSignal.peek();
+        int removed = Math.max(0,
+                Math.min(live.size(), live.size() + inserted.size()
+                        - liveWindowSize));
+
+        SignalBatch batch = new SignalBatch();
+        // The oldest messages stay available in the archive only
+        live.subList(0, removed).forEach(
+                messageSignal -> batch.run(() -> messagesSignal.remove(messageSignal)));
+        inserted.forEach(
+                message -> batch.run(() -> messagesSignal.insertLast(message)));
+        batch.update(messageCountSignal, count -> count + pending);
+        batch.commit();
+
+        long latency = System.nanoTime() - oldestPendingNanos;
+        flushes.increment();
+        flushedMessages.add(pending);
+        flushLatencyNanos.add(latency);
+        maxFlushLatencyNanos.accumulate(latency);
+
+        // Messages still waiting for an earlier one start a new latency cap
+        if (!pendingMessages.isEmpty()) {
+            oldestPendingNanos = System.nanoTime();
+            latencyCapFlush = taskScheduler.schedule(this::flushPendingMessages,
+                    Instant.now().plusNanos(maxLatencyNanos));
+        }
     }
 
     public void clearMessages() {
-        messagesSignal.clear();
+        // Wait for messages being archived so none of them is queued with an
+        // index from before the clear
+        clearLock.writeLock().lock();
+        try {
+            synchronized (this) {
+                archive.clear();
+                searchIndex.clear();
+                pendingMessages.clear();
+                nextLiveIndex = 0;
+                cancelLatencyCapFlush();
+                messagesSignal.clear();
+                messageCountSignal.value(0L);
+            }
+        } finally {
+            clearLock.writeLock().unlock();
+        }
+    }
+
+    private void cancelLatencyCapFlush() {
+        if (latencyCapFlush != null) {
+            latencyCapFlush.cancel(false);
+            latencyCapFlush = null;
+        }
+    }
+
+    /**
+     * Get the number of flushes to the messages signal since startup.
+     */
+    public long getFlushCount() {
+        return flushes.sum();
+    }
+
+    /**
+     * Get the average number of messages inserted by one flush.
+     */
+    public double getAverageMessagesPerFlush() {
+        long count = flushes.sum();
+        return count == 0 ? 0 : (double) flushedMessages.sum() / count;
+    }
+
+    /**
+     * Get the average time in milliseconds from appending the oldest message
+     * of a flush until it was flushed.
+     */
+    public double getAverageFlushLatencyMillis() {
+        long count = flushes.sum();
+        return count == 0 ? 0
+                : flushLatencyNanos.sum() / (double) count
+                        / TimeUnit.MILLISECONDS.toNanos(1);
+    }
+
+    /**
+     * Get the longest time in milliseconds a message has waited for a flush
+     * since startup.
+     */
+    public double getMaxFlushLatencyMillis() {
+        return maxFlushLatencyNanos.get()
+                / (double) TimeUnit.MILLISECONDS.toNanos(1);
     }
 }
@@ -5,6 +5,10 @@ import com.example.views.MainLayout;
 
 import jakarta.annotation.security.PermitAll;
 
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
 import com.example.MissingAPI;
 import com.example.security.CurrentUserSignal;
 import com.example.muc01.MUC01Signals;
@@ -12,6 +16,7 @@ import com.example.signals.SessionIdHelper;
 import com.example.signals.UserSessionRegistry;
 
 import com.vaadin.flow.component.AttachEvent;
+import com.vaadin.flow.component.ComponentEffect;
 import com.vaadin.flow.component.DetachEvent;
 import com.vaadin.flow.component.UI;
 import com.vaadin.flow.component.button.Button;
@@ -20,12 +25,20 @@ import com.vaadin.flow.component.html.H2;
 import com.vaadin.flow.component.html.H3;
 import com.vaadin.flow.component.html.Image;
 import com.vaadin.flow.component.html.Paragraph;
+import com.vaadin.flow.component.icon.Icon;
+import com.vaadin.flow.component.icon.VaadinIcon;
 import com.vaadin.flow.component.orderedlayout.HorizontalLayout;
 import com.vaadin.flow.component.orderedlayout.VerticalLayout;
 import com.vaadin.flow.component.textfield.TextArea;
+import com.vaadin.flow.component.textfield.TextField;
+import com.vaadin.flow.data.value.ValueChangeMode;
 import com.vaadin.flow.router.Menu;
 import com.vaadin.flow.router.PageTitle;
 import com.vaadin.flow.router.Route;
+import com.vaadin.signals.Signal;
+import com.vaadin.signals.WritableSignal;
+import com.vaadin.signals.local.ValueSignal;
+import com.vaadin.signals.shared.SharedValueSignal;
 
 /**
  * Multi-User Case 1: Shared Chat/Message List
@@ -48,11 +61,49 @@ import com.vaadin.flow.router.Route;
 @PermitAll
 public class MUC01View extends VerticalLayout {
 
+    // Estimated height of a message that has not been measured yet,
+    // including its margin, for the virtualized message list
+    private static final int ESTIMATED_MESSAGE_HEIGHT = 80;
+    private static final int MESSAGE_OVERSCAN = 10;
+    // Number of archived messages loaded at a time, and the number of pages
+    // kept; pages at the other end are evicted when more are loaded
+    private static final int HISTORY_PAGE_SIZE = 50;
+    private static final int MAX_HISTORY_PAGES = 6;
+    // Keys of the rows that load more archived messages
+    private static final String LOAD_OLDER_KEY = "load-older";
+    private static final String LOAD_NEWER_KEY = "load-newer";
+    private static final int SEARCH_RESULT_LIMIT = 20;
+    private static final int SEARCH_DEBOUNCE_MS = 300;
+    // Open searches are refreshed for new messages at most this often
+    private static final int SEARCH_REFRESH_MS = 2000;
+    private static final int STATS_SAMPLE_MS = 1000;
+
     private final String currentUser;
     private final MUC01Signals muc01Signals;
     private final UserSessionRegistry userSessionRegistry;
     private String sessionId;
 
+    /**
+     * Archived messages loaded above the live ones, starting at an archive
+     * index.
+     */
+    private record History(long start, List<MUC01Signals.Message> messages) {
+        long end() {
+            return start + messages.size();
+        }
+    }
+
+    /**
+     * A row of the message list: a message keyed by its archive index or
+     * live signal, or a button row that loads more archived messages.
+     */
+    private record MessageRow(Object key, MUC01Signals.Message message) {
+    }
+
+    // Null until older messages are loaded
+    private final ValueSignal<History> historySignal = new ValueSignal<>(
+            (History) null);
+
     public MUC01View(CurrentUserSignal currentUserSignal,
             MUC01Signals muc01Signals,
             UserSessionRegistry userSessionRegistry) {
@@ -86,15 +137,28 @@ public class MUC01View extends VerticalLayout {
         messagesContainer.setWidthFull();
         messagesContainer.getStyle().set("background-color", "#f5f5f5")
                 .set("border", "1px solid #e0e0e0").set("border-radius", "4px")
-                .set("padding", "1em").set("min-height", "200px")
-                .set("overflow-y", "auto").set("max-height", "400px");
+                .set("min-height", "200px").set("max-height", "400px");
+
+        // Older messages are only read from the archive when asked for
+        ComponentEffect.effect(messagesContainer, () -> {
+            // A cleared archive starts its indexes from zero again
+            History history = historySignal.value();
+            if (history != null && muc01Signals.getMessageCountSignal()
+                    .value() < history.end()) {
+                historySignal.value(null);
+            }
+        });
 
-        // Bind message list to UI
-        MissingAPI.bindChildren(messagesContainer, muc01Signals
-                .getMessagesSignal()
-                .map(messageSignals -> messageSignals.stream().map(
-                        msgSignal -> createMessageComponent(msgSignal.value()))
-                        .toList()));
+        // Bind message list to UI. Only the messages around the visible part
+        // of the list get components, keyed by archive index or message
+        // signal so that a new message only appends one child. Messages are
+        // never edited.
+        MissingAPI.bindVirtualChildren(messagesContainer,
+                Signal.computed(this::computeRows), MessageRow::key,
+                row -> row.message() != null
+                        ? createMessageComponent(row.message())
+                        : createLoadMoreComponent(row.key()),
+                ESTIMATED_MESSAGE_HEIGHT, MESSAGE_OVERSCAN);
 
         // Message input
         H3 inputTitle = new H3("Send Message");
@@ -134,8 +198,21 @@ public class MUC01View extends VerticalLayout {
                 .set("margin-top", "1em").set("font-style", "italic");
 
         Div messageCount = new Div();
-        messageCount.bindText(muc01Signals.getMessagesSignal()
-                .map(messages -> "💬 Total messages: " + messages.size()));
+        messageCount.bindText(muc01Signals.getMessageCountSignal()
+                .map(count -> "💬 Total messages: " + count));
+
+        // Fan-out statistics, refreshed once per STATS_SAMPLE_MS instead of
+        // with every flush
+        Div fanOutStats = new Div();
+        fanOutStats.bindText(MissingAPI.sample(fanOutStats,
+                muc01Signals.getMessageCountSignal(),
+                Duration.ofMillis(STATS_SAMPLE_MS))
+                .map(count -> String.format(
+                        "📦 %d flushes, %.1f messages per flush, latency %.0f ms average / %.0f ms max",
+                        muc01Signals.getFlushCount(),
+                        muc01Signals.getAverageMessagesPerFlush(),
+                        muc01Signals.getAverageFlushLatencyMillis(),
+                        muc01Signals.getMaxFlushLatencyMillis())));
 
         infoBox.add(new Paragraph("💡 In production implementation:\n"
                 + "• Signal is application-scoped Spring component (injected)\n"
@@ -143,10 +220,57 @@ public class MUC01View extends VerticalLayout {
                 + "• Messages would be persisted to database\n"
                 + "• Authorization would prevent editing others' messages\n"
                 + "• Signal API handles all synchronization automatically"),
-                messageCount);
+                messageCount, fanOutStats);
+
+        // Search over the indexed history, refreshed while typing
+        // pauses and, at most every SEARCH_REFRESH_MS, when new messages
+        // arrive
+        TextField searchField = new TextField();
+        searchField.setPlaceholder("Search messages...");
+        searchField.setPrefixComponent(new Icon(VaadinIcon.SEARCH));
+        searchField.setClearButtonVisible(true);
+        searchField.setValueChangeMode(ValueChangeMode.EAGER);
+        searchField.setWidthFull();
+        WritableSignal<String> searchQuerySignal = new ValueSignal<>("");
+        searchField.bindValue(searchQuerySignal);
+        Signal<String> debouncedQuerySignal = MissingAPI.debounce(this,
+                searchQuerySignal, Duration.ofMillis(SEARCH_DEBOUNCE_MS));
+        // Throttled rather than debounced, so that a busy chat still
+        // refreshes the results
+        Signal<Long> throttledCountSignal = MissingAPI.throttle(this,
+                muc01Signals.getMessageCountSignal(),
+                Duration.ofMillis(SEARCH_REFRESH_MS));
+
+        Div searchResults = new Div();
+        searchResults.setWidthFull();
+        ComponentEffect.effect(searchResults, () -> {
+            String query = debouncedQuerySignal.value();
+            searchResults.removeAll();
+            if (query.isBlank()) {
+                return;
+            }
+            // Only an open search depends on the message count
+            long messageCount = throttledCountSignal.value();
+            List<MessageSearchIndex.SearchHit> hits = muc01Signals
+                    .searchMessages(query, SEARCH_RESULT_LIMIT);
+            if (hits.isEmpty()) {
+                searchResults.add(new Paragraph("No messages found"));
+            }
+            hits.forEach(hit -> searchResults.add(createSearchHitComponent(hit)));
+            int searchable = muc01Signals.getSearchableMessageCount();
+            if (messageCount > searchable) {
+                Paragraph limitNote = new Paragraph(
+                        "Results are limited to the newest " + searchable
+                                + " messages");
+                limitNote.getStyle().set("font-size", "0.85em")
+                        .set("color", "var(--lumo-secondary-text-color)");
+                searchResults.add(limitNote);
+            }
+        });
 
         add(title, description, activeUsersDisplay, new H3("Messages"),
-                messagesContainer, inputTitle, messageInput, sendLayout, infoBox);
+                messagesContainer, inputTitle, messageInput, sendLayout,
+                new H3("Search"), searchField, searchResults, infoBox);
     }
 
     @Override
@@ -155,11 +279,93 @@ public class MUC01View extends VerticalLayout {
         this.sessionId = SessionIdHelper.getCurrentSessionId();
     }
 
+    private List<MessageRow> computeRows() {
+        List<SharedValueSignal<MUC01Signals.Message>> live = muc01Signals
+                .getMessagesSignal().value();
+        // The count is updated in the same transaction as the list
+        long firstLiveIndex = muc01Signals.getMessageCountSignal().value()
+                - live.size();
+        History history = historySignal.value();
+
+        List<MessageRow> rows = new ArrayList<>();
+        if ((history != null ? history.start() : firstLiveIndex) > 0) {
+            rows.add(new MessageRow(LOAD_OLDER_KEY, null));
+        }
+        if (history != null) {
+            for (int i = 0; i < history.messages().size(); i++) {
+                rows.add(new MessageRow(history.start() + i,
+                        history.messages().get(i)));
+            }
+            // Messages between the history and the live window
+            if (history.end() < firstLiveIndex) {
+                rows.add(new MessageRow(LOAD_NEWER_KEY, null));
+            }
+        }
+        live.forEach(messageSignal -> rows
+                .add(new MessageRow(messageSignal, messageSignal.peek())));
+        return rows;
+    }
+
+    private void loadOlderMessages() {
+        History history = historySignal.peek();
+        long start = history != null ? history.start()
+                : muc01Signals.getFirstLiveIndex();
+        long from = Math.max(0, start - HISTORY_PAGE_SIZE);
+
+        List<MUC01Signals.Message> messages = new ArrayList<>(
+                muc01Signals.getArchivedMessages(from, (int) (start - from)));
+        if (history != null) {
+            messages.addAll(history.messages());
+        }
+        // Evict the newest pages, which are below the viewport
+        int maxMessages = MAX_HISTORY_PAGES * HISTORY_PAGE_SIZE;
+        if (messages.size() > maxMessages) {
+            messages = messages.subList(0, maxMessages);
+        }
+        historySignal.value(new History(from, List.copyOf(messages)));
+    }
+
+    private void loadNewerMessages() {
+        History history = historySignal.peek();
+        if (history == null) {
+            return;
+        }
+        long firstLiveIndex = muc01Signals.getFirstLiveIndex();
+        int count = (int) Math.min(HISTORY_PAGE_SIZE,
+                firstLiveIndex - history.end());
+
+        List<MUC01Signals.Message> messages = new ArrayList<>(
+                history.messages());
+        messages.addAll(muc01Signals.getArchivedMessages(history.end(),
+                Math.max(0, count)));
+        // Evict the oldest pages, which are above the viewport
+        int evicted = Math.max(0,
+                messages.size() - MAX_HISTORY_PAGES * HISTORY_PAGE_SIZE);
+        historySignal.value(new History(history.start() + evicted,
+                List.copyOf(messages.subList(evicted, messages.size()))));
+    }
+
+    private Button createLoadMoreComponent(Object key) {
+        boolean older = LOAD_OLDER_KEY.equals(key);
+        Button button = new Button(
+                older ? "Load older messages" : "Load newer messages",
+                event -> {
+                    if (older) {
+                        loadOlderMessages();
+                    } else {
+                        loadNewerMessages();
+                    }
+                });
+        button.addThemeName("tertiary");
+        button.getStyle().set("align-self", "center");
+        return button;
+    }
+
     private Div createMessageComponent(MUC01Signals.Message message) {
         Div messageDiv = new Div();
         messageDiv.getStyle().set("background-color", "#ffffff")
                 .set("border-left", "3px solid var(--lumo-primary-color)")
-                .set("padding", "0.75em").set("margin-bottom", "0.5em")
+                .set("padding", "0.75em").set("margin", "0 0.5em 0.5em")
                 .set("border-radius", "4px").set("display", "flex")
                 .set("gap", "0.75em");
 
@@ -201,23 +407,60 @@ public class MUC01View extends VerticalLayout {
         return messageDiv;
     }
 
-    private String getCurrentDisplayName() {
-        if (sessionId == null) {
-            return currentUser;
-        }
+    private Div createSearchHitComponent(MessageSearchIndex.SearchHit hit) {
+        MUC01Signals.Message message = hit.message();
+
+        Div hitDiv = new Div();
+        hitDiv.getStyle().set("padding", "0.5em 0.75em")
+                .set("border-bottom", "1px solid var(--lumo-contrast-10pct)");
+
+        Div header = new Div();
+        header.getStyle().set("font-size", "0.85em").set("color",
+                "var(--lumo-secondary-text-color)");
+        header.getElement().setProperty("innerHTML",
+                highlight(message.author(), hit.highlights(),
+                        MessageSearchIndex.Field.AUTHOR) + " · "
+                        + message.getFormattedTimestamp());
+
+        Div text = new Div();
+        text.getElement().setProperty("innerHTML", highlight(message.text(),
+                hit.highlights(), MessageSearchIndex.Field.TEXT));
 
-        var users = userSessionRegistry.getActiveUsersSignal().value();
-        var displayNames = userSessionRegistry.getDisplayNamesSignal().value();
+        hitDiv.add(header, text);
+        return hitDiv;
+    }
 
-        // Find matching session key for current user
-        String sessionKey = currentUser + ":" + sessionId;
-        for (int i = 0; i < users.size() && i < displayNames.size(); i++) {
-            if (sessionKey.equals(users.get(i).value().getCompositeKey())) {
-                return displayNames.get(i);
+    private static String highlight(String value,
+            List<MessageSearchIndex.Highlight> highlights,
+            MessageSearchIndex.Field field) {
+        StringBuilder html = new StringBuilder();
+        int position = 0;
+        for (MessageSearchIndex.Highlight highlight : highlights) {
+            if (highlight.field() != field) {
+                continue;
             }
+            html.append(escapeHtml(value.substring(position, highlight.start())))
+                    .append("<mark>")
+                    .append(escapeHtml(value.substring(highlight.start(),
+                            highlight.end())))
+                    .append("</mark>");
+            position = highlight.end();
+        }
+        return html.append(escapeHtml(value.substring(position))).toString();
+    }
+
+    private static String escapeHtml(String text) {
+        return text.replace("&", "&amp;").replace("<", "&lt;")
+                .replace(">", "&gt;").replace("\"", "&quot;")
+                .replace("'", "&#39;");
+    }
+
+    private String getCurrentDisplayName() {
+        if (sessionId == null) {
+            return currentUser;
         }
 
-        // Fallback to username
-        return currentUser;
+        // Falls back to username if the session is not registered
+        return userSessionRegistry.getDisplayName(currentUser, sessionId);
     }
 }
@@ -0,0 +1,412 @@
+package com.example.muc01;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import jakarta.annotation.PreDestroy;
+
+import com.example.muc01.MUC01Signals.Message;
+
+/**
+ * Append-only on-disk log of all MUC01 chat messages, addressed by the index
+ * of a message since the log was last cleared.
+ *
+ * Messages are stored as length-prefixed records in segment files holding a
+ * fixed number of messages each, named after the index of their first
+ * message. The offsets of the records are indexed in memory; the index is
+ * rebuilt by scanning the segments on startup, which also drops a partially
+ * written last record. Only the segment being appended to stays open; full
+ * segments are closed and reopened for reading on demand, keeping at most
+ * {@code maxOpenSegments} of them open in least recently used order.
+ *
+ * A record holds the username, author, text and timestamp of a message, each
+ * as UTF-8 bytes prefixed with their length. Usernames and authors are
+ * limited to {@link #MAX_NAME_LENGTH} characters.
+ */
+@Component
+public class MessageArchive {
+
+    /**
+     * Maximum length of the username and author of an archived message.
+     */
+    public static final int MAX_NAME_LENGTH = 256;
+
+    private static final String SEGMENT_PREFIX = "segment-";
+    private static final String SEGMENT_SUFFIX = ".log";
+
+    private static final class Segment {
+        private final long firstIndex;
+        private final Path path;
+        // Open while the segment is appended to or cached for reading
+        private FileChannel channel;
+        private long[] offsets = new long[64];
+        private int count;
+        private long end;
+
+        private Segment(long firstIndex, Path path, FileChannel channel) {
+            this.firstIndex = firstIndex;
+            this.path = path;
+            this.channel = channel;
+        }
+
+        private void addOffset(long offset) {
+            if (count == offsets.length) {
+                offsets = Arrays.copyOf(offsets, count * 2);
+            }
+            offsets[count++] = offset;
+        }
+    }
+
+    private final Path directory;
+    private final int segmentSize;
+    private final int maxOpenSegments;
+
+    // Guarded by this
+    private final List<Segment> segments = new ArrayList<>();
+    // Full segments open for reading, least recently used first
+    private final LinkedHashMap<Long, Segment> readableSegments = new LinkedHashMap<>(
+            16, 0.75f, true);
+    private long size;
+
+    public MessageArchive(
+            @Value("${app.chat-archive.directory:${java.io.tmpdir}/signals-cases/muc01-archive}") String directory,
+            @Value("${app.chat-archive.segment-size:1000}") int segmentSize,
+            @Value("${app.chat-archive.max-open-segments:8}") int maxOpenSegments) {
+        if (segmentSize <= 0 || maxOpenSegments <= 0) {
+            throw new IllegalArgumentException(
+                    "Segment size and open segment count must be positive: "
+                            + segmentSize + ", " + maxOpenSegments);
+        }
+        this.directory = Path.of(directory);
+        this.segmentSize = segmentSize;
+        this.maxOpenSegments = maxOpenSegments;
+        try {
+            Files.createDirectories(this.directory);
+            openSegments();
+        } catch (IOException e) {
+            throw new UncheckedIOException(
+                    "Cannot open message archive in " + directory, e);
+        }
+    }
+
+    /**
+     * Get the number of archived messages.
+     */
+    public synchronized long size() {
+        return size;
+    }
+
+    /**
+     * Append a message to the log.
+     *
+     * @return the index of the message
+     * @throws IllegalArgumentException
+     *             if the username or author is longer than
+     *             {@link #MAX_NAME_LENGTH}
+     */
+    public long append(Message message) {
+        if (message.username().length() > MAX_NAME_LENGTH
+                || message.author().length() > MAX_NAME_LENGTH) {
+            throw new IllegalArgumentException(
+                    "Username and author must be at most " + MAX_NAME_LENGTH
+                            + " characters");
+        }
+        ByteBuffer record = encode(message);
+        synchronized (this) {
+            Segment segment = segments.isEmpty() ? null : segments.getLast();
+            try {
+                if (segment == null || segment.count == segmentSize) {
+                    if (segment != null) {
+                        seal(segment);
+                    }
+                    segment = createSegment(size);
+                }
+                long offset = segment.end;
+                while (record.hasRemaining()) {
+                    segment.channel.write(record, offset + record.position());
+                }
+                segment.addOffset(offset);
+                segment.end = offset + record.limit();
+            } catch (IOException e) {
+                throw new UncheckedIOException(
+                        "Cannot append to message archive", e);
+            }
+            return size++;
+        }
+    }
+
+    /**
+     * Read up to {@code count} messages starting at an index, in order.
+     * Indexes past the end are ignored.
+     */
+    public synchronized List<Message> read(long fromIndex, int count) {
+        if (fromIndex < 0 || count < 0) {
+            throw new IllegalArgumentException(
+                    "Invalid range: " + fromIndex + ", " + count);
+        }
+        long toIndex = Math.min(size, fromIndex + count);
+        List<Message> messages = new ArrayList<>();
+        try {
+            for (long index = fromIndex; index < toIndex; index++) {
+                messages.add(decode(readRecord(index)));
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot read message archive", e);
+        }
+        return messages;
+    }
+
+    /**
+     * Read the messages at the given indexes. Indexes in the same segment are
+     * read through one lookup of the segment and its channel, so indexes
+     * sorted in either direction cost one segment lookup per segment. Indexes
+     * past the end are ignored.
+     *
+     * @return the messages by index, in the order of the indexes
+     */
+    public synchronized Map<Long, Message> read(long[] indexes) {
+        Map<Long, Message> messages = new LinkedHashMap<>();
+        Segment segment = null;
+        FileChannel channel = null;
+        try {
+            for (long index : indexes) {
+                if (index < 0 || index >= size) {
+                    continue;
+                }
+                if (segment == null || index < segment.firstIndex
+                        || index >= segment.firstIndex + segment.count) {
+                    segment = segmentFor(index);
+                    channel = readChannel(segment);
+                }
+                messages.put(index,
+                        decode(readRecord(segment, channel, index)));
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot read message archive", e);
+        }
+        return messages;
+    }
+
+    /**
+     * Delete all archived messages. Indexes start from zero again.
+     */
+    public synchronized void clear() {
+        try {
+            for (Segment segment : segments) {
+                closeChannel(segment);
+                Files.deleteIfExists(segment.path);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot clear message archive", e);
+        }
+        segments.clear();
+        readableSegments.clear();
+        size = 0;
+    }
+
+    @PreDestroy
+    public synchronized void close() throws IOException {
+        if (!segments.isEmpty() && segments.getLast().channel != null) {
+            segments.getLast().channel.force(true);
+        }
+        for (Segment segment : segments) {
+            closeChannel(segment);
+        }
+        readableSegments.clear();
+    }
+
+    private void openSegments() throws IOException {
+        List<Path> paths;
+        try (Stream<Path> files = Files.list(directory)) {
+            paths = files.filter(path -> {
+                String name = path.getFileName().toString();
+                return name.startsWith(SEGMENT_PREFIX)
+                        && name.endsWith(SEGMENT_SUFFIX);
+            }).sorted(Comparator.comparingLong(MessageArchive::firstIndexOf))
+                    .toList();
+        }
+
+        for (Path path : paths) {
+            long firstIndex = firstIndexOf(path);
+            if (firstIndex != size) {
+                throw new IOException("Segment " + path
+                        + " does not continue the archive at index " + size);
+            }
+            Segment segment = new Segment(firstIndex, path,
+                    FileChannel.open(path, StandardOpenOption.READ,
+                            StandardOpenOption.WRITE));
+            scan(segment);
+            if (!segments.isEmpty()) {
+                seal(segments.getLast());
+            }
+            segments.add(segment);
+            size += segment.count;
+        }
+    }
+
+    private void scan(Segment segment) throws IOException {
+        long fileSize = segment.channel.size();
+        ByteBuffer lengthBuffer = ByteBuffer.allocate(Integer.BYTES);
+        long offset = 0;
+        while (offset + Integer.BYTES <= fileSize) {
+            lengthBuffer.clear();
+            segment.channel.read(lengthBuffer, offset);
+            int length = lengthBuffer.flip().getInt();
+            if (length < 0 || offset + Integer.BYTES + length > fileSize) {
+                break;
+            }
+            segment.addOffset(offset);
+            offset += Integer.BYTES + length;
+        }
+        // Drop a record that was only partially written before a crash
+        if (offset < fileSize) {
+            segment.channel.truncate(offset);
+        }
+        segment.end = offset;
+    }
+
+    private Segment createSegment(long firstIndex) throws IOException {
+        Path path = directory.resolve(String.format("%s%020d%s",
+                SEGMENT_PREFIX, firstIndex, SEGMENT_SUFFIX));
+        Segment segment = new Segment(firstIndex, path,
+                FileChannel.open(path, StandardOpenOption.CREATE_NEW,
+                        StandardOpenOption.READ, StandardOpenOption.WRITE));
+        segments.add(segment);
+        return segment;
+    }
+
+    /**
+     * Close a segment that is full. It is reopened read-only when read.
+     */
+    private static void seal(Segment segment) throws IOException {
+        segment.channel.force(true);
+        closeChannel(segment);
+    }
+
+    private static void closeChannel(Segment segment) throws IOException {
+        if (segment.channel != null) {
+            segment.channel.close();
+            segment.channel = null;
+        }
+    }
+
+    private FileChannel readChannel(Segment segment) throws IOException {
+        if (segment == segments.getLast()) {
+            return segment.channel;
+        }
+        if (readableSegments.get(segment.firstIndex) == null) {
+            segment.channel = FileChannel.open(segment.path,
+                    StandardOpenOption.READ);
+            readableSegments.put(segment.firstIndex, segment);
+            if (readableSegments.size() > maxOpenSegments) {
+                Iterator<Segment> eldest = readableSegments.values().iterator();
+                Segment evicted = eldest.next();
+                eldest.remove();
+                closeChannel(evicted);
+            }
+        }
+        return segment.channel;
+    }
+
+    private ByteBuffer readRecord(long index) throws IOException {
+        Segment segment = segmentFor(index);
+        return readRecord(segment, readChannel(segment), index);
+    }
+
+    private static ByteBuffer readRecord(Segment segment, FileChannel channel,
+            long index) throws IOException {
+        long offset = segment.offsets[(int) (index - segment.firstIndex)];
+
+        ByteBuffer lengthBuffer = ByteBuffer.allocate(Integer.BYTES);
+        readFully(channel, lengthBuffer, offset);
+        ByteBuffer record = ByteBuffer.allocate(lengthBuffer.flip().getInt());
+        readFully(channel, record, offset + Integer.BYTES);
+        return record.flip();
+    }
+
+    private static void readFully(FileChannel channel, ByteBuffer buffer,
+            long offset) throws IOException {
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer, offset + buffer.position()) < 0) {
+                throw new EOFException("Truncated record at " + offset);
+            }
+        }
+    }
+
+    private Segment segmentFor(long index) {
+        int low = 0;
+        int high = segments.size() - 1;
+        while (low < high) {
+            int middle = (low + high + 1) >>> 1;
+            if (segments.get(middle).firstIndex <= index) {
+                low = middle;
+            } else {
+                high = middle - 1;
+            }
+        }
+        return segments.get(low);
+    }
+
+    private static long firstIndexOf(Path path) {
+        String name = path.getFileName().toString();
+        return Long.parseLong(name.substring(SEGMENT_PREFIX.length(),
+                name.length() - SEGMENT_SUFFIX.length()));
+    }
+
+    /**
+     * Encode a message as a record, including the length prefix of the
+     * record itself.
+     */
+    private static ByteBuffer encode(Message message) {
+        byte[][] fields = { message.username().getBytes(StandardCharsets.UTF_8),
+                message.author().getBytes(StandardCharsets.UTF_8),
+                message.text().getBytes(StandardCharsets.UTF_8),
+                message.timestamp().toString()
+                        .getBytes(StandardCharsets.UTF_8) };
+        int length = 0;
+        for (byte[] field : fields) {
+            length += Integer.BYTES + field.length;
+        }
+        ByteBuffer record = ByteBuffer.allocate(Integer.BYTES + length)
+                .putInt(length);
+        for (byte[] field : fields) {
+            record.putInt(field.length).put(field);
+        }
+        return record.flip();
+    }
+
+    private static Message decode(ByteBuffer record) throws IOException {
+        return new Message(readString(record), readString(record),
+                readString(record), LocalDateTime.parse(readString(record)));
+    }
+
+    private static String readString(ByteBuffer record) throws IOException {
+        int length = record.remaining() >= Integer.BYTES ? record.getInt() : -1;
+        if (length < 0 || length > record.remaining()) {
+            throw new IOException("Corrupt message record");
+        }
+        String value = new String(record.array(), record.position(), length,
+                StandardCharsets.UTF_8);
+        record.position(record.position() + length);
+        return value;
+    }
+}
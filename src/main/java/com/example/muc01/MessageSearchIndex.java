@@ -0,0 +1,307 @@
+package com.example.muc01;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import jakarta.annotation.PostConstruct;
+
+import com.example.muc01.MUC01Signals.Message;
+
+/**
+ * In-memory inverted index over the author and text of the most recent MUC01
+ * chat messages. Messages are identified by their {@link MessageArchive}
+ * index, so postings are appended in ascending order and the newest matches
+ * are found first.
+ *
+ * Only the newest {@code maxIndexedMessages} messages are searchable, which
+ * bounds the memory of the index; older archived messages are still readable
+ * but not found by {@link #search(String, int)}. Postings of older messages
+ * are ignored right away and removed by a sweep once enough of them have
+ * accumulated, so adding a message stays amortized O(tokens).
+ */
+@Component
+public class MessageSearchIndex {
+
+    // Number of messages read from the archive at a time when rebuilding
+    private static final int REBUILD_CHUNK_SIZE = 10_000;
+
+    public enum Field {
+        AUTHOR, TEXT
+    }
+
+    /**
+     * A matched term in the author or text of a message, as character
+     * offsets.
+     */
+    public record Highlight(Field field, int start, int end) {
+    }
+
+    public record SearchHit(long messageId, Message message,
+            List<Highlight> highlights) {
+    }
+
+    private static final class Postings {
+        private long[] ids = new long[4];
+        private int start;
+        private int end;
+
+        private void add(long id) {
+            // A message can contain the same term several times
+            if (end > start && ids[end - 1] == id) {
+                return;
+            }
+            if (end == ids.length) {
+                // Grow, dropping evicted ids at the head
+                int count = end - start;
+                long[] grown = new long[Math.max(4, count * 2)];
+                System.arraycopy(ids, start, grown, 0, count);
+                ids = grown;
+                start = 0;
+                end = count;
+            }
+            ids[end++] = id;
+        }
+
+        private void evictBefore(long firstId) {
+            while (start < end && ids[start] < firstId) {
+                start++;
+            }
+        }
+
+        private int size() {
+            return end - start;
+        }
+    }
+
+    @FunctionalInterface
+    private interface TokenAction {
+        void accept(int start, int end);
+    }
+
+    private final MessageArchive archive;
+    private final int maxIndexedMessages;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    // Guarded by lock
+    private final Map<String, Postings> postings = new HashMap<>();
+    private long firstIndexedId;
+    private long nextId;
+    private long evictedSinceSweep;
+
+    public MessageSearchIndex(MessageArchive archive,
+            @Value("${app.chat-search.max-indexed-messages:100000}") int maxIndexedMessages) {
+        if (maxIndexedMessages <= 0) {
+            throw new IllegalArgumentException(
+                    "Index size must be positive: " + maxIndexedMessages);
+        }
+        this.archive = archive;
+        this.maxIndexedMessages = maxIndexedMessages;
+    }
+
+    /**
+     * Get the number of newest messages that are searchable.
+     */
+    public int getMaxIndexedMessages() {
+        return maxIndexedMessages;
+    }
+
+    /**
+     * Index the newest archived messages after a restart.
+     */
+    @PostConstruct
+    public void rebuild() {
+        long size = archive.size();
+        long from = Math.max(0, size - maxIndexedMessages);
+        lock.writeLock().lock();
+        try {
+            postings.clear();
+            firstIndexedId = from;
+            nextId = from;
+            evictedSinceSweep = 0;
+            for (long chunk = from; chunk < size; chunk += REBUILD_CHUNK_SIZE) {
+                long id = chunk;
+                for (Message message : archive.read(chunk,
+                        REBUILD_CHUNK_SIZE)) {
+                    addLocked(id++, message);
+                }
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Index a message that was appended to the archive. Messages must be
+     * added in archive order.
+     */
+    public void add(long messageId, Message message) {
+        lock.writeLock().lock();
+        try {
+            addLocked(messageId, message);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Remove all postings, e.g. when the archive has been cleared.
+     */
+    public void clear() {
+        lock.writeLock().lock();
+        try {
+            postings.clear();
+            firstIndexedId = 0;
+            nextId = 0;
+            evictedSinceSweep = 0;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Find the newest messages whose author or text contain all words of the
+     * query, ignoring case.
+     *
+     * @return at most {@code limit} hits, newest first
+     */
+    public List<SearchHit> search(String query, int limit) {
+        Set<String> terms = new LinkedHashSet<>();
+        tokenize(query, (start, end) -> terms
+                .add(query.substring(start, end).toLowerCase(Locale.ROOT)));
+        if (terms.isEmpty() || limit <= 0) {
+            return List.of();
+        }
+
+        long[] ids = new long[limit];
+        int found = 0;
+        lock.readLock().lock();
+        try {
+            List<Postings> lists = new ArrayList<>();
+            for (String term : terms) {
+                Postings list = postings.get(term);
+                if (list == null) {
+                    return List.of();
+                }
+                lists.add(list);
+            }
+            // Walk the rarest term from newest to oldest and look the ids up
+            // in the others. Ids only decrease, so each lookup only needs to
+            // search below the position of the previous one.
+            lists.sort(Comparator.comparingInt(Postings::size));
+            Postings rarest = lists.getFirst();
+            int[] bounds = new int[lists.size()];
+            for (int j = 1; j < lists.size(); j++) {
+                bounds[j] = lists.get(j).end;
+            }
+            candidates: for (int i = rarest.end - 1; i >= rarest.start
+                    && found < limit; i--) {
+                long id = rarest.ids[i];
+                if (id < firstIndexedId) {
+                    break;
+                }
+                for (int j = 1; j < lists.size(); j++) {
+                    Postings list = lists.get(j);
+                    int position = Arrays.binarySearch(list.ids, list.start,
+                            bounds[j], id);
+                    if (position < 0) {
+                        bounds[j] = -position - 1;
+                        continue candidates;
+                    }
+                    bounds[j] = position;
+                }
+                ids[found++] = id;
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        // Ids are descending, so the archive reads them segment by segment.
+        // Messages may be missing if the archive has been cleared since.
+        Map<Long, Message> messages = archive.read(Arrays.copyOf(ids, found));
+        List<SearchHit> hits = new ArrayList<>(messages.size());
+        messages.forEach((id, message) -> hits
+                .add(new SearchHit(id, message, highlight(message, terms))));
+        return hits;
+    }
+
+    private void addLocked(long messageId, Message message) {
+        if (messageId < nextId) {
+            throw new IllegalArgumentException("Message " + messageId
+                    + " is older than the last indexed message");
+        }
+        nextId = messageId + 1;
+        forEachTerm(message, term -> postings
+                .computeIfAbsent(term, key -> new Postings()).add(messageId));
+
+        long first = Math.max(firstIndexedId, nextId - maxIndexedMessages);
+        evictedSinceSweep += first - firstIndexedId;
+        firstIndexedId = first;
+        if (evictedSinceSweep >= maxIndexedMessages / 4 + 1) {
+            sweep();
+        }
+    }
+
+    private void sweep() {
+        postings.values().removeIf(list -> {
+            list.evictBefore(firstIndexedId);
+            return list.size() == 0;
+        });
+        evictedSinceSweep = 0;
+    }
+
+    private static void forEachTerm(Message message, Consumer<String> action) {
+        for (String value : List.of(message.author(), message.text())) {
+            tokenize(value, (start, end) -> action.accept(
+                    value.substring(start, end).toLowerCase(Locale.ROOT)));
+        }
+    }
+
+    private static List<Highlight> highlight(Message message,
+            Set<String> terms) {
+        List<Highlight> highlights = new ArrayList<>();
+        collectHighlights(Field.AUTHOR, message.author(), terms, highlights);
+        collectHighlights(Field.TEXT, message.text(), terms, highlights);
+        return highlights;
+    }
+
+    private static void collectHighlights(Field field, String value,
+            Set<String> terms, List<Highlight> highlights) {
+        tokenize(value, (start, end) -> {
+            if (terms.contains(
+                    value.substring(start, end).toLowerCase(Locale.ROOT))) {
+                highlights.add(new Highlight(field, start, end));
+            }
+        });
+    }
+
+    /**
+     * Reports the start and end offsets of each word, i.e. each run of
+     * letters and digits.
+     */
+    private static void tokenize(String value, TokenAction action) {
+        int start = -1;
+        for (int i = 0; i <= value.length(); i++) {
+            boolean wordChar = i < value.length()
+                    && Character.isLetterOrDigit(value.charAt(i));
+            if (wordChar && start < 0) {
+                start = i;
+            } else if (!wordChar && start >= 0) {
+                action.accept(start, i);
+                start = -1;
+            }
+        }
+    }
+}
@@ -1,45 +1,254 @@
 package com.example.muc02;
 
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
 
-import com.vaadin.signals.shared.SharedMapSignal;
-import com.vaadin.signals.WritableSignal;
+import com.example.signals.IdleSessionReaper;
+import com.example.signals.PointSignal;
+import com.example.signals.SessionKey;
+import com.vaadin.signals.Signal;
+import com.vaadin.signals.shared.SharedValueSignal;
 
 /**
  * Application-scoped signals for MUC02: Cursor Positions
+ *
+ * Cursor moves are not written to the cursor signals directly. Each session
+ * has a "latest wins" buffer that a move overwrites, and the buffers are
+ * published into the signals at a fixed tick, so each cursor changes at most
+ * once per tick no matter how many moves arrive in between.
+ *
+ * In the {@link CursorRendering#FRAME} rendering mode, each tick with changes
+ * also publishes all cursors as a single frame, see
+ * {@link #getCursorFrameSignal()}.
  */
 @Component
 public class MUC02Signals {
 
-    public record CursorPosition(int x, int y) {
-        // Default constructor for Jackson deserialization
-        public CursorPosition() {
-            this(0, 0);
+    private static final long NO_PENDING_POSITION = Long.MIN_VALUE;
+
+    /**
+     * How views render the cursors of other sessions.
+     */
+    public enum CursorRendering {
+        /**
+         * One component per cursor, each with its own position bindings.
+         */
+        COMPONENTS,
+        /**
+         * One element property holding all cursors of the latest tick, drawn
+         * by a client-side renderer.
+         */
+        FRAME
+    }
+
+    // Cursor position by SessionKey id. Positions are packed point signals so
+    // that a mouse move writes two ints instead of allocating a new value;
+    // the version signal only changes when a session joins or leaves.
+    private final SharedValueSignal<Long> sessionsVersionSignal = new SharedValueSignal<>(
+            0L);
+
+    // Guarded by this
+    private final Map<String, PointSignal> sessionCursors = new LinkedHashMap<>();
+    private volatile Map<String, PointSignal> sessionCursorsSnapshot = Map
+            .of();
+
+    // Small numeric cursor id by SessionKey id, used in cursor frames
+    // Guarded by this
+    private final Map<String, Integer> cursorIds = new LinkedHashMap<>();
+    private int nextCursorId;
+    private volatile Map<String, Integer> cursorIdsSnapshot = Map.of();
+    // Set when sessions have joined or left since the last frame
+    private volatile boolean sessionsChanged;
+
+    private final SharedValueSignal<String> cursorFrameSignal = new SharedValueSignal<>(
+            "");
+
+    // Latest unpublished position by SessionKey id, packed like in
+    // PointSignal, or NO_PENDING_POSITION
+    private final Map<String, AtomicLong> pendingPositions = new ConcurrentHashMap<>();
+
+    private final LongAdder submittedPositions = new LongAdder();
+    private final LongAdder publishedPositions = new LongAdder();
+
+    private final int clientMinIntervalMillis;
+    private final int clientMinDeltaPixels;
+    private final CursorRendering cursorRendering;
+
+    public MUC02Signals(IdleSessionReaper idleSessionReaper,
+            @Value("${app.cursor.client-min-interval-ms:50}") int clientMinIntervalMillis,
+            @Value("${app.cursor.client-min-delta-px:4}") int clientMinDeltaPixels,
+            @Value("${app.cursor.rendering:FRAME}") CursorRendering cursorRendering) {
+        this.clientMinIntervalMillis = clientMinIntervalMillis;
+        this.clientMinDeltaPixels = clientMinDeltaPixels;
+        this.cursorRendering = cursorRendering;
+        idleSessionReaper.addCleanupHook(this::unregisterCursor);
+    }
+
+    public CursorRendering getCursorRendering() {
+        return cursorRendering;
+    }
+
+    /**
+     * Get a signal with the cursors of all sessions as one frame: a comma
+     * separated list of {@code id,x,y} triples, in joining order. Only updated
+     * in the {@link CursorRendering#FRAME} rendering mode, at most once per
+     * publish tick.
+     */
+    public Signal<String> getCursorFrameSignal() {
+        return cursorFrameSignal;
+    }
+
+    /**
+     * Get the id of a session's cursor in cursor frames.
+     *
+     * @return the id, or -1 if the session has no registered cursor
+     */
+    public int getCursorId(String sessionKeyId) {
+        return cursorIdsSnapshot.getOrDefault(sessionKeyId, -1);
+    }
+
+    /**
+     * Get the minimum time between two cursor events sent by the browser.
+     */
+    public int getClientMinIntervalMillis() {
+        return clientMinIntervalMillis;
+    }
+
+    /**
+     * Get the minimum distance in pixels, along either axis, between the
+     * cursor and the last position the browser sent, for sending a new one.
+     */
+    public int getClientMinDeltaPixels() {
+        return clientMinDeltaPixels;
+    }
+
+    /**
+     * Get a signal with the cursor of each session, in joining order.
+     */
+    public Signal<Map<String, PointSignal>> getSessionCursorsSignal() {
+        return Signal.computed(() -> {
+            sessionsVersionSignal.value();
+            return sessionCursorsSnapshot;
+        });
+    }
+
+    public synchronized PointSignal getCursorSignalForUser(
+            SessionKey sessionKey) {
+        PointSignal cursor = sessionCursors.get(sessionKey.id());
+        if (cursor == null) {
+            cursor = new PointSignal(0, 0);
+            sessionCursors.put(sessionKey.id(), cursor);
+            cursorIds.put(sessionKey.id(), nextCursorId++);
+            pendingPositions.put(sessionKey.id(),
+                    new AtomicLong(NO_PENDING_POSITION));
+            publishSessions();
         }
+        return cursor;
+    }
 
-        @Override
-        public String toString() {
-            return "(" + x + ", " + y + ")";
+    // Looks up the pending position of a session, creating its cursor if it
+    // has none, in one step with respect to unregisterCursor
+    private synchronized AtomicLong pendingPositionFor(SessionKey sessionKey) {
+        AtomicLong pending = pendingPositions.get(sessionKey.id());
+        if (pending == null) {
+            getCursorSignalForUser(sessionKey);
+            pending = pendingPositions.get(sessionKey.id());
         }
+        return pending;
     }
 
-    // MapSignal where key is "username:sessionId" and value is CursorPosition
-    private final SharedMapSignal<CursorPosition> sessionCursorsSignal = new SharedMapSignal<>(
-            CursorPosition.class);
+    /**
+     * Record the latest cursor position of a session, replacing any position
+     * that has not been published yet. A session without a cursor, e.g. one
+     * whose cursor was removed while it was idle, gets a new one.
+     */
+    public void submitCursor(SessionKey sessionKey, int x, int y) {
+        AtomicLong pending = pendingPositions.get(sessionKey.id());
+        if (pending == null) {
+            pending = pendingPositionFor(sessionKey);
+        }
+        pending.set(((long) x << 32) | (y & 0xFFFFFFFFL));
+        submittedPositions.increment();
+    }
 
-    public SharedMapSignal<CursorPosition> getSessionCursorsSignal() {
-        return sessionCursorsSignal;
+    /**
+     * Write the buffered positions to the cursor signals, and publish a new
+     * cursor frame if anything changed.
+     */
+    @Scheduled(fixedRateString = "${app.cursor.publish-interval-ms:50}")
+    public void publishCursors() {
+        Map<String, PointSignal> cursors = sessionCursorsSnapshot;
+        boolean changed = false;
+        for (Map.Entry<String, AtomicLong> entry : pendingPositions
+                .entrySet()) {
+            long position = entry.getValue().getAndSet(NO_PENDING_POSITION);
+            PointSignal cursor = cursors.get(entry.getKey());
+            if (position != NO_PENDING_POSITION && cursor != null) {
+                cursor.set((int) (position >>> 32), (int) position);
+                publishedPositions.increment();
+                changed = true;
+            }
+        }
+
+        if (cursorRendering == CursorRendering.FRAME
+                && (changed || sessionsChanged)) {
+            sessionsChanged = false;
+            cursorFrameSignal.value(encodeFrame(cursors));
+        }
+    }
+
+    /**
+     * Get the number of cursor positions received from browsers since
+     * startup.
+     */
+    public long getSubmittedPositionCount() {
+        return submittedPositions.sum();
+    }
+
+    /**
+     * Get the number of cursor positions written to the cursor signals since
+     * startup. Positions replaced before a tick are not counted.
+     */
+    public long getPublishedPositionCount() {
+        return publishedPositions.sum();
+    }
+
+    public synchronized void unregisterCursor(SessionKey sessionKey) {
+        pendingPositions.remove(sessionKey.id());
+        cursorIds.remove(sessionKey.id());
+        if (sessionCursors.remove(sessionKey.id()) != null) {
+            publishSessions();
+        }
     }
 
-    public WritableSignal<CursorPosition> getCursorSignalForUser(
-            String username, String sessionId) {
-        String sessionKey = username + ":" + sessionId;
-        return sessionCursorsSignal
-                .putIfAbsent(sessionKey, new CursorPosition(0, 0)).signal();
+    private void publishSessions() {
+        cursorIdsSnapshot = Map.copyOf(cursorIds);
+        sessionCursorsSnapshot = Collections
+                .unmodifiableMap(new LinkedHashMap<>(sessionCursors));
+        sessionsChanged = true;
+        sessionsVersionSignal.value(sessionsVersionSignal.peek() + 1);
     }
 
-    public void unregisterCursor(String username, String sessionId) {
-        String sessionKey = username + ":" + sessionId;
-        sessionCursorsSignal.remove(sessionKey);
+    private String encodeFrame(Map<String, PointSignal> cursors) {
+        Map<String, Integer> ids = cursorIdsSnapshot;
+        StringBuilder frame = new StringBuilder(cursors.size() * 12);
+        cursors.forEach((sessionKeyId, cursor) -> {
+            Integer id = ids.get(sessionKeyId);
+            // The session may have left since the cursors were read
+            if (id != null) {
+                cursor.peek((x, y) -> (frame.isEmpty() ? frame
+                        : frame.append(',')).append(id).append(',').append(x)
+                        .append(',').append(y));
+            }
+        });
+        return frame.toString();
     }
 }
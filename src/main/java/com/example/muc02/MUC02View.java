@@ -5,12 +5,16 @@ import com.example.views.MainLayout;
 
 import jakarta.annotation.security.PermitAll;
 
+import java.util.List;
 import java.util.Map;
+import java.util.stream.Collectors;
 
 import com.example.MissingAPI;
 import com.example.security.CurrentUserSignal;
-import com.example.muc02.MUC02Signals;
+import com.example.muc02.MUC02Signals.CursorRendering;
+import com.example.signals.PointSignal;
 import com.example.signals.SessionIdHelper;
+import com.example.signals.SessionKey;
 import com.example.signals.UserSessionRegistry;
 
 import com.vaadin.flow.component.AttachEvent;
@@ -28,15 +32,13 @@ import com.vaadin.flow.router.Menu;
 import com.vaadin.flow.router.PageTitle;
 import com.vaadin.flow.router.Route;
 import com.vaadin.signals.Signal;
-import com.vaadin.signals.shared.SharedValueSignal;
-import com.vaadin.signals.WritableSignal;
 
 /**
  * Multi-User Case 2: Collaborative Cursor Positions
  *
  * Demonstrates showing all users' cursor positions in real-time: - Each user
  * updates their own cursor position signal - All users read all cursor signals
- * - Map<UserId, Signal<CursorPosition>> - Real-time updates
+ * - Map<UserId, PointSignal> - Real-time updates
  *
  * Key Patterns: - Per-user writable signals shared via static Map - All users
  * observe all signals - Efficient multi-signal updates - Collaborative
@@ -48,11 +50,14 @@ import com.vaadin.signals.WritableSignal;
 @PermitAll
 public class MUC02View extends VerticalLayout {
 
+    // Maximum rate of cursor updates sent to each browser
+    private static final int CURSOR_UPDATES_PER_SECOND = 20;
+
     private final String currentUser;
-    private WritableSignal<MUC02Signals.CursorPosition> myCursorSignal;
     private final MUC02Signals muc02Signals;
     private final UserSessionRegistry userSessionRegistry;
-    private String sessionId;
+    private SessionKey sessionKey;
+    private Div cursorsContainer;
 
     public MUC02View(CurrentUserSignal currentUserSignal,
             MUC02Signals muc02Signals,
@@ -88,26 +93,64 @@ public class MUC02View extends VerticalLayout {
                 .set("cursor", "crosshair");
 
         // Add cursor indicators for all users
-        Div cursorsContainer = new Div();
+        cursorsContainer = new Div();
         cursorsContainer.getStyle().set("position", "relative");
         canvas.add(cursorsContainer);
 
         // Render cursor indicators for all users
-        renderAllCursors(cursorsContainer);
-
-        // Track mouse movement
-        canvas.getElement().addEventListener("mousemove", event -> {
-            // Only update if attached (sessionId and myCursorSignal are set)
-            if (myCursorSignal != null) {
-                // Get mouse position relative to canvas
-                double clientX = event.getEventData().get("event.offsetX")
+        if (muc02Signals.getCursorRendering() == CursorRendering.FRAME) {
+            renderCursorFrames(cursorsContainer);
+        } else {
+            renderAllCursors(cursorsContainer);
+        }
+
+        // Track mouse movement. The browser samples the cursor in one
+        // listener and sends a move at most once per interval, and only when
+        // it is at least the minimum distance from the last position sent;
+        // the server then publishes at most the latest position per tick.
+        canvas.getElement().addEventListener("cursor-move", event -> {
+            // Only update if attached (sessionKey is set)
+            if (sessionKey != null) {
+                // Mouse position relative to canvas
+                int x = (int) event.getEventData().get("event.detail.x")
                         .asDouble();
-                double clientY = event.getEventData().get("event.offsetY")
+                int y = (int) event.getEventData().get("event.detail.y")
                         .asDouble();
-                myCursorSignal.value(new MUC02Signals.CursorPosition(
-                        (int) clientX, (int) clientY));
+                muc02Signals.submitCursor(sessionKey, x, y);
             }
-        }).addEventData("event.offsetX").addEventData("event.offsetY");
+        }).addEventData("event.detail.x").addEventData("event.detail.y");
+        canvas.getElement().executeJs("""
+                const canvas = this;
+                const minDelta = $0;
+                const interval = $1;
+                let sentX = null;
+                let sentY = null;
+                let lastSent = 0;
+                let latest = null;
+                let timer = null;
+                const send = () => {
+                    timer = null;
+                    const [x, y] = latest;
+                    latest = null;
+                    if (sentX !== null && Math.abs(x - sentX) < minDelta
+                            && Math.abs(y - sentY) < minDelta) {
+                        return;
+                    }
+                    sentX = x;
+                    sentY = y;
+                    lastSent = performance.now();
+                    canvas.dispatchEvent(new CustomEvent('cursor-move',
+                            { detail: { x, y } }));
+                };
+                canvas.addEventListener('mousemove', event => {
+                    latest = [event.offsetX, event.offsetY];
+                    if (timer === null) {
+                        timer = setTimeout(send, Math.max(0,
+                                lastSent + interval - performance.now()));
+                    }
+                });
+                """, muc02Signals.getClientMinDeltaPixels(),
+                muc02Signals.getClientMinIntervalMillis());
 
         // Active sessions display
         ActiveUsersDisplay activeSessionsBox = new ActiveUsersDisplay(
@@ -119,63 +162,50 @@ public class MUC02View extends VerticalLayout {
         usersList.getStyle().set("background-color", "#e3f2fd")
                 .set("padding", "1em").set("border-radius", "4px");
 
-        // Display cursor positions per session - reactive
-        MissingAPI.bindChildren(usersList, Signal.computed(() -> {
-            var cursors = muc02Signals.getSessionCursorsSignal().value();
-            var users = userSessionRegistry.getActiveUsersSignal().value();
-            var displayNames = userSessionRegistry.getDisplayNamesSignal()
-                    .value();
-
-            // Build mapping from sessionKey to display name
-            java.util.Map<String, String> displayNameMap = new java.util.HashMap<>();
-            for (int i = 0; i < users.size() && i < displayNames.size(); i++) {
-                String sessionKey = users.get(i).value().getCompositeKey();
-                displayNameMap.put(sessionKey, displayNames.get(i));
-            }
-
-            return cursors.entrySet().stream().map(entry -> {
-                String sessionKey = entry.getKey();
-                SharedValueSignal<MUC02Signals.CursorPosition> positionSignal = entry
-                        .getValue();
-
-                // Get display name and username from mapping
-                String displayName = displayNameMap.getOrDefault(sessionKey,
-                        "[" + sessionKey + "]");
-
-                // Extract username from sessionKey (format: "username:sessionId")
-                String username = sessionKey.split(":")[0];
-
-                HorizontalLayout userItem = new HorizontalLayout();
-                userItem.setSpacing(true);
-                userItem.setAlignItems(
-                        com.vaadin.flow.component.orderedlayout.FlexComponent.Alignment.CENTER);
-                userItem.setWidthFull();
-                userItem.getStyle().set("margin-bottom", "0.5em");
-
-                // Avatar
-                Image avatar = new Image(MainLayout.getProfilePicturePath(username),
-                        "");
-                avatar.setWidth("32px");
-                avatar.setHeight("32px");
-                avatar.getStyle().set("border-radius", "50%")
-                        .set("object-fit", "cover");
-
-                // User label
-                Div userLabel = new Div();
-                userLabel.setText(displayName);
-                userLabel.getStyle().set("font-weight", "500");
-
-                // Position label
-                Div positionLabel = new Div(positionSignal
-                        .map(MUC02Signals.CursorPosition::toString));
-                positionLabel.getStyle().set("font-family", "monospace")
-                        .set("color", "var(--lumo-secondary-text-color)")
-                        .set("margin-left", "auto");
-
-                userItem.add(avatar, userLabel, positionLabel);
-                return userItem;
-            }).toList();
-        }));
+        // Display cursor positions per session - reactive, keyed by session
+        // so that a joining session does not rebuild the other items
+        MissingAPI.bindChildren(usersList,
+                muc02Signals.getSessionCursorsSignal()
+                        .map(cursors -> List.copyOf(cursors.entrySet())),
+                Map.Entry::getKey, entry -> {
+            String entryKey = entry.getKey();
+            PointSignal positionSignal = entry.getValue();
+
+            // Username of the session, without parsing for registered keys
+            String username = SessionKey.fromId(entryKey).username();
+
+            HorizontalLayout userItem = new HorizontalLayout();
+            userItem.setSpacing(true);
+            userItem.setAlignItems(
+                    com.vaadin.flow.component.orderedlayout.FlexComponent.Alignment.CENTER);
+            userItem.setWidthFull();
+            userItem.getStyle().set("margin-bottom", "0.5em");
+
+            // Avatar
+            Image avatar = new Image(MainLayout.getProfilePicturePath(username),
+                    "");
+            avatar.setWidth("32px");
+            avatar.setHeight("32px");
+            avatar.getStyle().set("border-radius", "50%")
+                    .set("object-fit", "cover");
+
+            // User label
+            Div userLabel = new Div();
+            bindDisplayName(userLabel, entryKey);
+            userLabel.getStyle().set("font-weight", "500");
+
+            // Position label
+            Div positionLabel = new Div();
+            MissingAPI.bindText(positionLabel,
+                    positionSignal.map((x, y) -> "(" + x + ", " + y + ")"),
+                    CURSOR_UPDATES_PER_SECOND);
+            positionLabel.getStyle().set("font-family", "monospace")
+                    .set("color", "var(--lumo-secondary-text-color)")
+                    .set("margin-left", "auto");
+
+            userItem.add(avatar, userLabel, positionLabel);
+            return userItem;
+        });
 
         // Info box
         Div infoBox = new Div();
@@ -183,7 +213,7 @@ public class MUC02View extends VerticalLayout {
                 .set("padding", "1em").set("border-radius", "4px")
                 .set("margin-top", "1em").set("font-style", "italic");
         infoBox.add(new Paragraph(
-                "💡 Each user's cursor position is stored in a WritableSignal in a static shared Map. "
+                "💡 Each user's cursor position is stored in a packed point signal in a shared map. "
                         + "All users read all signals to display cursor indicators. This pattern enables "
                         + "real-time collaborative awareness without complex synchronization code. "
                         + "With Vaadin Push, updates propagate automatically to all connected clients."));
@@ -195,78 +225,177 @@ public class MUC02View extends VerticalLayout {
     @Override
     protected void onAttach(AttachEvent attachEvent) {
         super.onAttach(attachEvent);
-        this.sessionId = SessionIdHelper.getCurrentSessionId();
-        this.myCursorSignal = muc02Signals
-                .getCursorSignalForUser(currentUser, sessionId);
+        this.sessionKey = SessionIdHelper.getCurrentSessionKey(currentUser);
+        muc02Signals.getCursorSignalForUser(sessionKey);
     }
 
     @Override
     protected void onDetach(DetachEvent detachEvent) {
         super.onDetach(detachEvent);
-        muc02Signals.unregisterCursor(currentUser, sessionId);
+        muc02Signals.unregisterCursor(sessionKey);
     }
 
     private void renderAllCursors(Div container) {
         // Reactive rendering of cursor indicators
+        var cursorsSignal = muc02Signals.getSessionCursorsSignal();
         MissingAPI.bindChildren(container, Signal.computed(() -> {
-            var cursors = muc02Signals.getSessionCursorsSignal().value();
-            var users = userSessionRegistry.getActiveUsersSignal().value();
-            var displayNames = userSessionRegistry.getDisplayNamesSignal()
-                    .value();
-
-            // Build mapping from sessionKey to display name
-            java.util.Map<String, String> displayNameMap = new java.util.HashMap<>();
-            for (int i = 0; i < users.size() && i < displayNames.size(); i++) {
-                String sessionKey = users.get(i).value().getCompositeKey();
-                displayNameMap.put(sessionKey, displayNames.get(i));
-            }
+            var cursors = cursorsSignal.value();
 
             return cursors.entrySet().stream()
-                    .filter(entry -> sessionId == null
-                            || !entry.getKey().equals(currentUser + ":" + sessionId))
-                    .map(entry -> {
-                        String sessionKey = entry.getKey();
-                        SharedValueSignal<MUC02Signals.CursorPosition> signal = entry
-                                .getValue();
-
-                        // Get display name from mapping (fallback to full sessionKey
-                        // for debugging)
-                        String displayName = displayNameMap.getOrDefault(sessionKey,
-                                "[" + sessionKey + "]");
-
-                        Div cursorIndicator = new Div();
-                        cursorIndicator.getStyle().set("position", "absolute")
-                                .set("width", "20px").set("height", "20px")
-                                .set("background-color",
-                                        "var(--lumo-primary-color)")
-                                .set("border-radius", "50%")
-                                .set("border", "2px solid white")
-                                .set("pointer-events", "none")
-                                .set("transform", "translate(-50%, -50%)")
-                                .set("z-index", "1000");
-
-                        // Bind position (with null guards)
-                        cursorIndicator.getStyle().bind("left", signal
-                                .map(pos -> pos != null ? pos.x() + "px" : "0px"));
-                        cursorIndicator.getStyle().bind("top", signal
-                                .map(pos -> pos != null ? pos.y() + "px" : "0px"));
-
-                        // Label with display name
-                        Div label = new Div();
-                        label.setText(displayName);
-                        label.getStyle().set("position", "absolute")
-                                .set("top", "25px").set("left", "0")
-                                .set("white-space", "nowrap")
-                                .set("background-color",
-                                        "rgba(0, 0, 0, 0.7)")
-                                .set("color", "white")
-                                .set("padding", "2px 6px")
-                                .set("border-radius", "3px")
-                                .set("font-size", "0.75em");
-
-                        cursorIndicator.add(label);
-                        return cursorIndicator;
-                    }).toList();
-        }));
+                    .filter(entry -> sessionKey == null
+                            || !entry.getKey().equals(sessionKey.id()))
+                    .toList();
+        }), Map.Entry::getKey, entry -> {
+            String entryKey = entry.getKey();
+            PointSignal signal = entry.getValue();
+
+            Div cursorIndicator = new Div();
+            cursorIndicator.getStyle().set("position", "absolute")
+                    .set("width", "20px").set("height", "20px")
+                    .set("background-color",
+                            "var(--lumo-primary-color)")
+                    .set("border-radius", "50%")
+                    .set("border", "2px solid white")
+                    .set("pointer-events", "none")
+                    .set("transform", "translate(-50%, -50%)")
+                    .set("z-index", "1000");
+
+            // Bind position, capped so that push traffic does not follow the
+            // mouse sampling rate
+            MissingAPI.bindStyle(cursorIndicator, "left",
+                    signal.map((x, y) -> x + "px"),
+                    CURSOR_UPDATES_PER_SECOND);
+            MissingAPI.bindStyle(cursorIndicator, "top",
+                    signal.map((x, y) -> y + "px"),
+                    CURSOR_UPDATES_PER_SECOND);
+
+            // Label with display name
+            Div label = new Div();
+            bindDisplayName(label, entryKey);
+            label.getStyle().set("position", "absolute")
+                    .set("top", "25px").set("left", "0")
+                    .set("white-space", "nowrap")
+                    .set("background-color",
+                            "rgba(0, 0, 0, 0.7)")
+                    .set("color", "white")
+                    .set("padding", "2px 6px")
+                    .set("border-radius", "3px")
+                    .set("font-size", "0.75em");
+
+            cursorIndicator.add(label);
+            return cursorIndicator;
+        });
+    }
+
+    private void renderCursorFrames(Div container) {
+        // All cursors are sent as one property per tick instead of one
+        // component with two style bindings per cursor
+        container.getElement().bindProperty("cursorFrame",
+                muc02Signals.getCursorFrameSignal());
+
+        // Display names only change when sessions join, leave or rename, so
+        // they are sent separately as "id<TAB>name" lines
+        var cursorsSignal = muc02Signals.getSessionCursorsSignal();
+        container.getElement().bindProperty("cursorLabels",
+                Signal.computed(() -> cursorsSignal.value().keySet().stream()
+                        .map(entryKey -> muc02Signals.getCursorId(entryKey)
+                                + "\t" + displayName(entryKey)
+                                        .replaceAll("[\t\n]", " "))
+                        .collect(Collectors.joining("\n"))));
+
+        // The own cursor is skipped. Its id changes when the cursor is created
+        // again after the session was idle, which also changes the sessions.
+        container.getElement().bindProperty("ownCursorId",
+                Signal.computed(() -> {
+                    cursorsSignal.value();
+                    return sessionKey != null
+                            ? muc02Signals.getCursorId(sessionKey.id())
+                            : -1;
+                }));
+
+        // Draw the indicators from the properties, at most once per
+        // animation frame. Indicators are kept by id and only moved.
+        container.getElement().executeJs("""
+                const container = this;
+                const indicators = new Map();
+                let scheduled = false;
+
+                const render = () => {
+                    scheduled = false;
+                    const labels = new Map();
+                    for (const line of (container.cursorLabels || '').split('\\n')) {
+                        const tab = line.indexOf('\\t');
+                        if (tab > 0) {
+                            labels.set(Number(line.substring(0, tab)), line.substring(tab + 1));
+                        }
+                    }
+                    const frame = container.cursorFrame ? container.cursorFrame.split(',').map(Number) : [];
+                    const seen = new Set();
+                    for (let i = 0; i + 2 < frame.length; i += 3) {
+                        const id = frame[i];
+                        if (id === container.ownCursorId) {
+                            continue;
+                        }
+                        seen.add(id);
+                        let indicator = indicators.get(id);
+                        if (!indicator) {
+                            indicator = document.createElement('div');
+                            indicator.style.cssText = 'position: absolute; width: 20px; height: 20px;'
+                                + ' background-color: var(--lumo-primary-color); border-radius: 50%;'
+                                + ' border: 2px solid white; pointer-events: none;'
+                                + ' transform: translate(-50%, -50%); z-index: 1000';
+                            const label = document.createElement('div');
+                            label.style.cssText = 'position: absolute; top: 25px; left: 0; white-space: nowrap;'
+                                + ' background-color: rgba(0, 0, 0, 0.7); color: white;'
+                                + ' padding: 2px 6px; border-radius: 3px; font-size: 0.75em';
+                            indicator.appendChild(label);
+                            container.appendChild(indicator);
+                            indicators.set(id, indicator);
+                        }
+                        indicator.style.left = frame[i + 1] + 'px';
+                        indicator.style.top = frame[i + 2] + 'px';
+                        indicator.firstChild.textContent = labels.get(id) ?? '';
+                    }
+                    for (const [id, indicator] of indicators) {
+                        if (!seen.has(id)) {
+                            indicator.remove();
+                            indicators.delete(id);
+                        }
+                    }
+                };
+
+                // Re-render whenever the server sets one of the properties,
+                // including values set before this script ran
+                for (const name of ['cursorFrame', 'cursorLabels', 'ownCursorId']) {
+                    let value = container[name];
+                    delete container[name];
+                    Object.defineProperty(container, name, {
+                        configurable: true,
+                        get: () => value,
+                        set: newValue => {
+                            value = newValue;
+                            if (!scheduled) {
+                                scheduled = true;
+                                requestAnimationFrame(render);
+                            }
+                        }
+                    });
+                }
+                render();
+                """);
+    }
+
+    private String displayName(String entryKey) {
+        String displayName = userSessionRegistry.getDisplayNameSignal(entryKey)
+                .value();
+        return displayName != null ? displayName : "[" + entryKey + "]";
+    }
+
+    private void bindDisplayName(Div label, String entryKey) {
+        // Follows renames without rebuilding the item (fallback to the full
+        // session key for debugging)
+        label.bindText(userSessionRegistry.getDisplayNameSignal(entryKey)
+                .map(displayName -> displayName != null ? displayName
+                        : "[" + entryKey + "]"));
     }
 }
@@ -2,6 +2,11 @@ package com.example.muc03;
 
 import org.springframework.stereotype.Component;
 
+import com.example.SignalBatch;
+import com.example.signals.IdleSessionReaper;
+import com.example.signals.IntSignal;
+import com.example.signals.PointSignal;
+import com.example.signals.SessionKey;
 import com.vaadin.signals.shared.SharedMapSignal;
 import com.vaadin.signals.shared.SharedValueSignal;
 import com.vaadin.signals.WritableSignal;
@@ -12,20 +17,23 @@ import com.vaadin.signals.WritableSignal;
 @Component
 public class MUC03Signals {
 
-    // MapSignal where key is "username:sessionId" and value is score (Integer)
+    // MapSignal where key is the SessionKey id and value is score (Integer)
     private final SharedMapSignal<Integer> leaderboardSignal = new SharedMapSignal<>(
             Integer.class);
 
     private final WritableSignal<Boolean> buttonVisibleSignal = new SharedValueSignal<>(
             false);
-    private final WritableSignal<Integer> buttonLeftSignal = new SharedValueSignal<>(
-            0);
-    private final WritableSignal<Integer> buttonTopSignal = new SharedValueSignal<>(
-            0);
-    private final WritableSignal<Integer> clicksRemainingSignal = new SharedValueSignal<>(
-            0);
-    private final WritableSignal<Integer> roundNumberSignal = new SharedValueSignal<>(
-            0);
+    // Game state that changes with every click is kept in primitive signals,
+    // so writes do not box. They are not transactional, so they are written
+    // in an order where every intermediate state is valid: the button only
+    // becomes visible after its position and counters are set.
+    private final PointSignal buttonPositionSignal = new PointSignal(0, 0);
+    private final IntSignal clicksRemainingSignal = new IntSignal(0);
+    private final IntSignal roundNumberSignal = new IntSignal(0);
+
+    public MUC03Signals(IdleSessionReaper idleSessionReaper) {
+        idleSessionReaper.addCleanupHook(this::unregisterScore);
+    }
 
     public SharedMapSignal<Integer> getLeaderboardSignal() {
         return leaderboardSignal;
@@ -35,66 +43,63 @@ public class MUC03Signals {
         return buttonVisibleSignal;
     }
 
-    public WritableSignal<Integer> getButtonLeftSignal() {
-        return buttonLeftSignal;
-    }
-
-    public WritableSignal<Integer> getButtonTopSignal() {
-        return buttonTopSignal;
+    public PointSignal getButtonPositionSignal() {
+        return buttonPositionSignal;
     }
 
-    public WritableSignal<Integer> getClicksRemainingSignal() {
+    public IntSignal getClicksRemainingSignal() {
         return clicksRemainingSignal;
     }
 
-    public WritableSignal<Integer> getRoundNumberSignal() {
+    public IntSignal getRoundNumberSignal() {
         return roundNumberSignal;
     }
 
-    public void initializePlayerScore(String username, String sessionId) {
-        String sessionKey = username + ":" + sessionId;
-        leaderboardSignal.putIfAbsent(sessionKey, 0);
+    public void initializePlayerScore(SessionKey sessionKey) {
+        leaderboardSignal.putIfAbsent(sessionKey.id(), 0);
     }
 
-    public synchronized boolean awardPoint(String username, String sessionId) {
+    public synchronized boolean awardPoint(SessionKey sessionKey) {
         if (!buttonVisibleSignal.value()
-                || clicksRemainingSignal.value() <= 0) {
+                || clicksRemainingSignal.peek() <= 0) {
             return false; // Round already finished
         }
 
+        SignalBatch batch = new SignalBatch();
+
         // Award the point
-        String sessionKey = username + ":" + sessionId;
         SharedValueSignal<Integer> scoreSignal = leaderboardSignal.value()
-                .get(sessionKey);
+                .get(sessionKey.id());
         if (scoreSignal != null) {
-            scoreSignal.value(scoreSignal.value() + 1);
+            batch.update(scoreSignal, score -> score + 1);
         } else {
             // Initialize if not present
-            leaderboardSignal.put(sessionKey, 1);
+            batch.run(() -> leaderboardSignal.put(sessionKey.id(), 1));
         }
 
-        // Decrement clicks remaining
-        int remaining = clicksRemainingSignal.value() - 1;
-        clicksRemainingSignal.value(remaining);
-
         // Hide button temporarily (will be repositioned by view)
-        buttonVisibleSignal.value(false);
+        batch.set(buttonVisibleSignal, false);
+        batch.commit();
+
+        // Decrement clicks remaining once the button is hidden
+        int remaining = clicksRemainingSignal.decrementAndGet();
 
         // Return true if more clicks remain in this round
         return remaining > 0;
     }
 
-    public void startNewRound(int left, int top) {
-        buttonLeftSignal.value(left);
-        buttonTopSignal.value(top);
-        clicksRemainingSignal.value(5); // 5 clicks per round
-        roundNumberSignal.value(roundNumberSignal.value() + 1);
+    public synchronized void startNewRound(int left, int top) {
+        // The button is shown last, so no one sees it at the old position of
+        // the new round
+        buttonPositionSignal.set(left, top);
+        clicksRemainingSignal.set(5); // 5 clicks per round
+        roundNumberSignal.incrementAndGet();
         buttonVisibleSignal.value(true);
     }
 
-    public void repositionButton(int left, int top) {
-        buttonLeftSignal.value(left);
-        buttonTopSignal.value(top);
+    public synchronized void repositionButton(int left, int top) {
+        // The position is one packed write, so it is never seen half updated
+        buttonPositionSignal.set(left, top);
         buttonVisibleSignal.value(true);
     }
 
@@ -102,8 +107,7 @@ public class MUC03Signals {
         leaderboardSignal.clear();
     }
 
-    public void unregisterScore(String username, String sessionId) {
-        String sessionKey = username + ":" + sessionId;
-        leaderboardSignal.remove(sessionKey);
+    public void unregisterScore(SessionKey sessionKey) {
+        leaderboardSignal.remove(sessionKey.id());
     }
 }
@@ -5,12 +5,15 @@ import com.example.views.MainLayout;
 
 import jakarta.annotation.security.PermitAll;
 
+import java.time.Duration;
 import java.util.Random;
 
 import com.example.MissingAPI;
+import com.example.SignalBatch;
 import com.example.security.CurrentUserSignal;
 import com.example.muc03.MUC03Signals;
 import com.example.signals.SessionIdHelper;
+import com.example.signals.SessionKey;
 import com.example.signals.UserSessionRegistry;
 
 import com.vaadin.flow.component.AttachEvent;
@@ -28,6 +31,7 @@ import com.vaadin.flow.component.orderedlayout.VerticalLayout;
 import com.vaadin.flow.router.Menu;
 import com.vaadin.flow.router.PageTitle;
 import com.vaadin.flow.router.Route;
+import com.vaadin.signals.local.ValueSignal;
 
 /**
  * Multi-User Case 3: Competitive Button Click Game
@@ -45,11 +49,21 @@ import com.vaadin.flow.router.Route;
 @PermitAll
 public class MUC03View extends VerticalLayout {
 
+    private record LeaderboardEntry(String entryKey, int score,
+            boolean currentSession) {
+    }
+
+    // How often the batching statistics are refreshed while attached
+    private static final Duration BATCH_STATS_INTERVAL = Duration
+            .ofSeconds(1);
+
     private final String currentUser;
     private final MUC03Signals muc03Signals;
     private final UserSessionRegistry userSessionRegistry;
     private final Random random = new Random();
-    private String sessionId;
+    private SessionKey sessionKey;
+    private final ValueSignal<String> batchStatsSignal = new ValueSignal<>(
+            "");
 
     public MUC03View(CurrentUserSignal currentUserSignal,
             MUC03Signals muc03Signals,
@@ -112,9 +126,9 @@ public class MUC03View extends VerticalLayout {
 
         targetButton.bindVisible(muc03Signals.getButtonVisibleSignal());
         targetButton.getStyle().bind("left", muc03Signals
-                .getButtonLeftSignal().map(left -> left + "px"));
+                .getButtonPositionSignal().map((left, top) -> left + "px"));
         targetButton.getStyle().bind("top", muc03Signals
-                .getButtonTopSignal().map(top -> top + "px"));
+                .getButtonPositionSignal().map((left, top) -> top + "px"));
 
         gameArea.add(targetButton);
 
@@ -145,71 +159,23 @@ public class MUC03View extends VerticalLayout {
         leaderboardDiv.getStyle().set("background-color", "#e3f2fd")
                 .set("padding", "1em").set("border-radius", "4px");
 
-        // Bind leaderboard display
+        // Bind leaderboard display, keyed by session so that a point only
+        // rebuilds and moves the row of the player who scored
         MissingAPI.bindChildren(leaderboardDiv,
                 com.vaadin.signals.Signal.computed(() -> {
                     var scores = muc03Signals.getLeaderboardSignal()
                             .value();
-                    var users = userSessionRegistry.getActiveUsersSignal()
-                            .value();
-                    var displayNames = userSessionRegistry.getDisplayNamesSignal()
-                            .value();
-
-                    // Build mapping from sessionKey to display name
-                    java.util.Map<String, String> displayNameMap = new java.util.HashMap<>();
-                    for (int i = 0; i < users.size()
-                            && i < displayNames.size(); i++) {
-                        String sessionKey = users.get(i).value()
-                                .getCompositeKey();
-                        displayNameMap.put(sessionKey, displayNames.get(i));
-                    }
 
                     return scores.entrySet().stream()
-                            .sorted((e1, e2) -> Integer.compare(
-                                    e2.getValue().value(),
-                                    e1.getValue().value()))
-                            .map(entry -> {
-                                String sessionKey = entry.getKey();
-                                int score = entry.getValue().value();
-                                String displayName = displayNameMap
-                                        .getOrDefault(sessionKey, sessionKey);
-                                boolean isCurrentSession = sessionId != null
-                                        && sessionKey.equals(
-                                                currentUser + ":" + sessionId);
-
-                                // Extract username from sessionKey (format: "username:sessionId")
-                                String username = sessionKey.split(":")[0];
-
-                                HorizontalLayout item = new HorizontalLayout();
-                                item.setSpacing(true);
-                                item.setAlignItems(
-                                        com.vaadin.flow.component.orderedlayout.FlexComponent.Alignment.CENTER);
-                                item.getStyle().set("padding", "0.5em")
-                                        .set("background-color",
-                                                isCurrentSession ? "#fff3e0"
-                                                        : "transparent")
-                                        .set("border-radius", "4px")
-                                        .set("font-weight",
-                                                isCurrentSession ? "bold"
-                                                        : "normal");
-
-                                // Avatar
-                                Image avatar = new Image(
-                                        MainLayout.getProfilePicturePath(username),
-                                        "");
-                                avatar.setWidth("32px");
-                                avatar.setHeight("32px");
-                                avatar.getStyle().set("border-radius", "50%")
-                                        .set("object-fit", "cover");
-
-                                // Name and score
-                                Span nameLabel = new Span(String.format("%s: %d points",
-                                        displayName, score));
-
-                                item.add(avatar, nameLabel);
-                                return item;
-                            }).toList();
-                }));
+                            .map(entry -> new LeaderboardEntry(entry.getKey(),
+                                    entry.getValue().value(),
+                                    sessionKey != null && entry.getKey()
+                                            .equals(sessionKey.id())))
+                            .sorted((e1, e2) -> Integer.compare(e2.score(),
+                                    e1.score()))
+                            .toList();
+                }), LeaderboardEntry::entryKey,
+                this::createLeaderboardItem);
 
         // Info box
         Div infoBox = new Div();
@@ -223,6 +189,11 @@ public class MUC03View extends VerticalLayout {
                         + "The leaderboard is a shared signal that updates for all users in real-time. "
                         + "Race against other players to get the most points!"));
 
+        // Batching statistics, polled while attached
+        Div batchStats = new Div();
+        batchStats.bindText(batchStatsSignal);
+        infoBox.add(batchStats);
+
         add(title, description, activeSessionsBox, roundStatus, clicksStatus,
                 gameArea, controls, leaderboardTitle, leaderboardDiv, infoBox);
     }
@@ -236,26 +207,18 @@ public class MUC03View extends VerticalLayout {
     private void handleButtonClick() {
         // Atomic operation: Only first click counts (handled by
         // CollaborativeSignals)
-        boolean moreClicksRemain = muc03Signals.awardPoint(currentUser,
-                sessionId);
+        boolean moreClicksRemain = muc03Signals.awardPoint(sessionKey);
 
         // If there are more clicks remaining, reposition button after random
         // delay
         if (moreClicksRemain) {
-            new Thread(() -> {
-                try {
-                    // Random delay between 500ms and 2000ms
-                    int delay = 500 + random.nextInt(1500);
-                    Thread.sleep(delay);
-
-                    // Reposition button at random location
-                    int[] position = getRandomPosition();
-                    getUI().ifPresent(ui -> ui.access(() -> muc03Signals
-                            .repositionButton(position[0], position[1])));
-                } catch (InterruptedException e) {
-                    Thread.currentThread().interrupt();
-                }
-            }).start();
+            // Random delay between 500ms and 2000ms
+            Duration delay = Duration.ofMillis(500 + random.nextInt(1500));
+            MissingAPI.schedule(this, delay, () -> {
+                // Reposition button at random location
+                int[] position = getRandomPosition();
+                muc03Signals.repositionButton(position[0], position[1]);
+            });
         }
     }
 
@@ -268,13 +231,62 @@ public class MUC03View extends VerticalLayout {
     @Override
     protected void onAttach(AttachEvent attachEvent) {
         super.onAttach(attachEvent);
-        this.sessionId = SessionIdHelper.getCurrentSessionId();
-        muc03Signals.initializePlayerScore(currentUser, sessionId);
+        this.sessionKey = SessionIdHelper.getCurrentSessionKey(currentUser);
+        muc03Signals.initializePlayerScore(sessionKey);
+        refreshBatchStats();
+    }
+
+    private void refreshBatchStats() {
+        SignalBatch.Statistics stats = SignalBatch.getStatistics();
+        batchStatsSignal.value("📦 " + stats.committedBatches()
+                + " batched commits of " + stats.batchedWrites()
+                + " writes, " + stats.changedWrites()
+                + " of them changing a value; " + stats.mergedChanges()
+                + " changes published together with another one");
+        // Cancelled on detach and started again on the next attach
+        MissingAPI.schedule(this, BATCH_STATS_INTERVAL,
+                this::refreshBatchStats);
     }
 
     @Override
     protected void onDetach(DetachEvent detachEvent) {
         super.onDetach(detachEvent);
-        muc03Signals.unregisterScore(currentUser, sessionId);
+        muc03Signals.unregisterScore(sessionKey);
+    }
+
+    private HorizontalLayout createLeaderboardItem(LeaderboardEntry entry) {
+        String entryKey = entry.entryKey();
+        var displayNameSignal = userSessionRegistry
+                .getDisplayNameSignal(entryKey);
+
+        // Username of the session, without parsing for registered keys
+        String username = SessionKey.fromId(entryKey).username();
+
+        HorizontalLayout item = new HorizontalLayout();
+        item.setSpacing(true);
+        item.setAlignItems(
+                com.vaadin.flow.component.orderedlayout.FlexComponent.Alignment.CENTER);
+        item.getStyle().set("padding", "0.5em")
+                .set("background-color",
+                        entry.currentSession() ? "#fff3e0" : "transparent")
+                .set("border-radius", "4px")
+                .set("font-weight", entry.currentSession() ? "bold" : "normal");
+
+        // Avatar
+        Image avatar = new Image(MainLayout.getProfilePicturePath(username),
+                "");
+        avatar.setWidth("32px");
+        avatar.setHeight("32px");
+        avatar.getStyle().set("border-radius", "50%").set("object-fit",
+                "cover");
+
+        // Name and score, following renames without rebuilding the item
+        Span nameLabel = new Span(displayNameSignal.map(displayName -> String
+                .format("%s: %d points",
+                        displayName != null ? displayName : entryKey,
+                        entry.score())));
+
+        item.add(avatar, nameLabel);
+        return item;
     }
 }
@@ -2,8 +2,11 @@ package com.example.muc04;
 
 import org.springframework.stereotype.Component;
 
+import com.example.signals.IdleSessionReaper;
+import com.example.signals.SessionKey;
 import com.vaadin.signals.shared.SharedMapSignal;
 import com.vaadin.signals.shared.SharedValueSignal;
+import com.vaadin.signals.Signal;
 import com.vaadin.signals.WritableSignal;
 
 /**
@@ -23,6 +26,10 @@ public class MUC04Signals {
     private final SharedMapSignal<FieldLock> fieldLocksSignal = new SharedMapSignal<>(
             FieldLock.class);
 
+    public MUC04Signals(IdleSessionReaper idleSessionReaper) {
+        idleSessionReaper.addCleanupHook(this::releaseLocks);
+    }
+
     public WritableSignal<String> getCompanyNameSignal() {
         return companyNameSignal;
     }
@@ -43,6 +50,28 @@ public class MUC04Signals {
         fieldLocksSignal.put(fieldName, new FieldLock(username, sessionId));
     }
 
+    /**
+     * Lock a field for a session unless some session holds it already, e.g. to
+     * take a lock back that was released when the session was idle. The check
+     * and the lock run in one transaction, so two sessions cannot both take a
+     * free field.
+     *
+     * @return whether the session holds the lock afterwards
+     */
+    public boolean lockFieldIfFree(String fieldName, String username,
+            String sessionId) {
+        return Signal.runInTransaction(() -> {
+            SharedValueSignal<FieldLock> lockSignal = fieldLocksSignal.value()
+                    .get(fieldName);
+            if (lockSignal != null) {
+                return new FieldLock(username, sessionId)
+                        .equals(lockSignal.value());
+            }
+            lockField(fieldName, username, sessionId);
+            return true;
+        }).returnValue();
+    }
+
     public void unlockField(String fieldName, String username,
             String sessionId) {
         SharedValueSignal<FieldLock> lockSignal = fieldLocksSignal.value()
@@ -56,6 +85,19 @@ public class MUC04Signals {
         }
     }
 
+    /**
+     * Release all field locks held by a session.
+     */
+    public void releaseLocks(SessionKey sessionKey) {
+        fieldLocksSignal.value().forEach((fieldName, lockSignal) -> {
+            FieldLock lock = lockSignal.value();
+            if (lock != null && sessionKey.username().equals(lock.username())
+                    && sessionKey.sessionId().equals(lock.sessionId())) {
+                fieldLocksSignal.remove(fieldName);
+            }
+        });
+    }
+
     public boolean isFieldLockedByOther(String fieldName, String username,
             String sessionId) {
         SharedValueSignal<FieldLock> lockSignal = fieldLocksSignal.value()
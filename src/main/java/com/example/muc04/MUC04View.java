@@ -5,6 +5,8 @@ import com.example.views.MainLayout;
 
 import jakarta.annotation.security.PermitAll;
 
+import java.time.Duration;
+
 import com.example.MissingAPI;
 import com.example.security.CurrentUserSignal;
 import com.example.muc04.MUC04Signals;
@@ -153,16 +155,8 @@ public class MUC04View extends VerticalLayout {
                     "✓ Changes saved successfully");
             successMsg.getStyle().set("color", "green");
             add(successMsg);
-            getUI().ifPresent(ui -> ui.access(() -> {
-                new Thread(() -> {
-                    try {
-                        Thread.sleep(2000);
-                        ui.access(() -> remove(successMsg));
-                    } catch (InterruptedException e) {
-                        e.printStackTrace();
-                    }
-                }).start();
-            }));
+            MissingAPI.schedule(this, Duration.ofSeconds(2),
+                    () -> remove(successMsg));
         });
         saveButton.addThemeName("primary");
 
@@ -201,6 +195,15 @@ public class MUC04View extends VerticalLayout {
             }
         });
 
+        // Editing a focused field whose lock was released while the session
+        // was idle takes the lock back
+        field.addValueChangeListener(event -> {
+            if (event.isFromClient() && sessionId != null) {
+                muc04Signals.lockFieldIfFree(fieldName, currentUser,
+                        sessionId);
+            }
+        });
+
         // Unlock when blurred
         field.addBlurListener(event -> {
             if (sessionId != null) {
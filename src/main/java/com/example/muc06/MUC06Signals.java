@@ -4,7 +4,7 @@ import org.springframework.stereotype.Component;
 
 import jakarta.annotation.PostConstruct;
 
-import com.vaadin.signals.shared.SharedListSignal;
+import com.example.signals.MirroredListSignal;
 
 /**
  * Application-scoped signals for MUC06: Shared Task List
@@ -16,15 +16,17 @@ public class MUC06Signals {
             java.time.LocalDate dueDate) {
     }
 
-    private final SharedListSignal<Task> tasksSignal = new SharedListSignal<>(Task.class);
+    // Rows bind to the per-task signals, the statistics to the snapshots
+    private final MirroredListSignal<Task> tasksSignal = new MirroredListSignal<>(
+            Task.class);
 
-    public SharedListSignal<Task> getTasksSignal() {
+    public MirroredListSignal<Task> getTasksSignal() {
         return tasksSignal;
     }
 
     @PostConstruct
     public void initializeSampleTasks() {
-        if (tasksSignal.value().isEmpty()) {
+        if (tasksSignal.peek().isEmpty()) {
             tasksSignal.insertLast(new Task("task-1", "Review pull requests",
                     false, java.time.LocalDate.now()));
             tasksSignal.insertLast(new Task("task-2", "Update documentation",
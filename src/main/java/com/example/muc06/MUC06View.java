@@ -10,11 +10,12 @@ import java.util.UUID;
 
 import com.example.MissingAPI;
 import com.example.security.CurrentUserSignal;
-import com.example.muc06.MUC06Signals;
+import com.example.signals.MirroredListSignal;
 import com.example.signals.SessionIdHelper;
 import com.example.signals.UserSessionRegistry;
 
 import com.vaadin.flow.component.AttachEvent;
+import com.vaadin.flow.component.ComponentEffect;
 import com.vaadin.flow.component.DetachEvent;
 import com.vaadin.flow.component.UI;
 import com.vaadin.flow.component.button.Button;
@@ -34,7 +35,6 @@ import com.vaadin.flow.component.textfield.TextField;
 import com.vaadin.flow.router.Menu;
 import com.vaadin.flow.router.PageTitle;
 import com.vaadin.flow.router.Route;
-import com.vaadin.signals.shared.SharedListSignal;
 import com.vaadin.signals.Signal;
 import com.vaadin.signals.shared.SharedValueSignal;
 
@@ -56,6 +56,11 @@ import com.vaadin.signals.shared.SharedValueSignal;
 @PermitAll
 public class MUC06View extends VerticalLayout {
 
+    // Fixed row height of a task, including its margin, for the virtualized
+    // task list
+    private static final int TASK_ROW_HEIGHT = 72;
+    private static final int TASK_ROW_OVERSCAN = 5;
+
     private final String currentUser;
     private final MUC06Signals muc06Signals;
     private final UserSessionRegistry userSessionRegistry;
@@ -88,13 +93,14 @@ public class MUC06View extends VerticalLayout {
         // Initialize sample tasks if list is empty
         muc06Signals.initializeSampleTasks();
 
-        SharedListSignal<MUC06Signals.Task> tasksSignal = muc06Signals
+        MirroredListSignal<MUC06Signals.Task> tasksSignal = muc06Signals
                 .getTasksSignal();
 
-        // Computed signals for statistics
-        Signal<Integer> totalSignal = tasksSignal.map(list -> list.size());
-        Signal<Integer> completedSignal = Signal.computed(() -> (int) tasksSignal
-                .value().stream().filter(t -> t.value().completed()).count());
+        // Computed signals for statistics. The completed count only re-checks
+        // the tasks that changed since it was last computed.
+        Signal<Integer> totalSignal = tasksSignal.size();
+        Signal<Integer> completedSignal = tasksSignal
+                .count(MUC06Signals.Task::completed);
         Signal<Integer> pendingSignal = Signal
                 .computed(() -> totalSignal.value() - completedSignal.value());
 
@@ -129,16 +135,18 @@ public class MUC06View extends VerticalLayout {
         H3 tasksTitle = new H3("Shared Tasks");
 
         Div tasksContainer = new Div();
-        tasksContainer.getStyle().set("display", "flex")
-                .set("flex-direction", "column").set("gap", "0.5em")
+        tasksContainer.setWidthFull();
+        tasksContainer.getStyle().set("max-height", "480px")
                 .set("margin-bottom", "1em");
 
-        MissingAPI.bindChildren(tasksContainer,
-                tasksSignal
-                        .map(taskSignals -> taskSignals.stream()
-                                .map(taskSignal -> createTaskRow(taskSignal,
-                                        tasksSignal))
-                                .toList()));
+        // Rows are keyed by task signal and update themselves, so editing a
+        // task does not rebuild the other rows. Only the rows around the
+        // visible part of a long list get components.
+        MissingAPI.bindVirtualChildren(tasksContainer,
+                tasksSignal.getRowsSignal(),
+                taskSignal -> taskSignal,
+                taskSignal -> createTaskRow(taskSignal, tasksSignal),
+                TASK_ROW_HEIGHT, TASK_ROW_OVERSCAN);
 
         // Add task button
         Button addButton = new Button("Add Task", event -> {
@@ -170,46 +178,60 @@ public class MUC06View extends VerticalLayout {
 
     private HorizontalLayout createTaskRow(
             SharedValueSignal<MUC06Signals.Task> taskSignal,
-            SharedListSignal<MUC06Signals.Task> tasksSignal) {
-        MUC06Signals.Task task = taskSignal.value();
-
+            MirroredListSignal<MUC06Signals.Task> tasksSignal) {
         // Checkbox for completed status
         Checkbox checkbox = new Checkbox();
-        checkbox.setValue(task.completed());
         checkbox.setAriaLabel("Task completed");
         checkbox.addValueChangeListener(e -> {
-            MUC06Signals.Task current = taskSignal.value();
-            taskSignal.value(new MUC06Signals.Task(current.id(),
-                    current.title(), e.getValue(), current.dueDate()));
+            if (!e.isFromClient()) {
+                return;
+            }
+            tasksSignal.update(taskSignal,
+                    current -> new MUC06Signals.Task(current.id(),
+                            current.title(), e.getValue(), current.dueDate()));
         });
 
         // TextField for title
         TextField titleField = new TextField();
-        titleField.setValue(task.title() != null ? task.title() : "");
         titleField.setPlaceholder("Task title...");
         titleField.setWidth("400px");
         titleField.addValueChangeListener(e -> {
-            MUC06Signals.Task current = taskSignal.value();
-            taskSignal.value(new MUC06Signals.Task(current.id(),
-                    e.getValue(), current.completed(), current.dueDate()));
+            if (!e.isFromClient()) {
+                return;
+            }
+            tasksSignal.update(taskSignal,
+                    current -> new MUC06Signals.Task(current.id(),
+                            e.getValue(), current.completed(),
+                            current.dueDate()));
         });
 
-        // Add strikethrough styling for completed tasks
-        if (task.completed()) {
-            titleField.getStyle().set("text-decoration", "line-through");
-        } else {
-            titleField.getStyle().remove("text-decoration");
-        }
-
         // DatePicker for due date
         DatePicker datePicker = new DatePicker();
-        datePicker.setValue(task.dueDate());
         datePicker.setPlaceholder("Due date");
         datePicker.setWidth("180px");
         datePicker.addValueChangeListener(e -> {
-            MUC06Signals.Task current = taskSignal.value();
-            taskSignal.value(new MUC06Signals.Task(current.id(),
-                    current.title(), current.completed(), e.getValue()));
+            if (!e.isFromClient()) {
+                return;
+            }
+            tasksSignal.update(taskSignal,
+                    current -> new MUC06Signals.Task(current.id(),
+                            current.title(), current.completed(),
+                            e.getValue()));
+        });
+
+        // Show edits from other users in place instead of rebuilding the row
+        ComponentEffect.effect(checkbox, () -> {
+            MUC06Signals.Task task = taskSignal.value();
+            checkbox.setValue(task.completed());
+            titleField.setValue(task.title() != null ? task.title() : "");
+            datePicker.setValue(task.dueDate());
+
+            // Add strikethrough styling for completed tasks
+            if (task.completed()) {
+                titleField.getStyle().set("text-decoration", "line-through");
+            } else {
+                titleField.getStyle().remove("text-decoration");
+            }
         });
 
         // Delete button
@@ -225,7 +247,10 @@ public class MUC06View extends VerticalLayout {
         row.setDefaultVerticalComponentAlignment(Alignment.CENTER);
         row.setWidthFull();
         row.setPadding(true);
-        row.getStyle().set("background-color", "#ffffff")
+        row.setHeight((TASK_ROW_HEIGHT - 8) + "px");
+        row.getStyle().set("margin-bottom", "8px")
+                .set("box-sizing", "border-box")
+                .set("background-color", "#ffffff")
                 .set("border", "1px solid var(--lumo-contrast-20pct)")
                 .set("border-radius", "4px");
 
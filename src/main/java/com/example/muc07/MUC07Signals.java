@@ -6,6 +6,7 @@ import jakarta.annotation.PostConstruct;
 
 import com.example.usecase18.Task;
 import com.example.usecase18.ChatMessageData;
+import com.example.signals.MirroredListSignal;
 import com.vaadin.signals.shared.SharedListSignal;
 
 /**
@@ -14,12 +15,12 @@ import com.vaadin.signals.shared.SharedListSignal;
 @Component
 public class MUC07Signals {
 
-    private final SharedListSignal<Task> llmTasksSignal = new SharedListSignal<>(
+    private final MirroredListSignal<Task> llmTasksSignal = new MirroredListSignal<>(
             Task.class);
     private final SharedListSignal<ChatMessageData> llmChatMessagesSignal = new SharedListSignal<>(
             ChatMessageData.class);
 
-    public SharedListSignal<Task> getLlmTasksSignal() {
+    public MirroredListSignal<Task> getLlmTasksSignal() {
         return llmTasksSignal;
     }
 
@@ -29,7 +30,7 @@ public class MUC07Signals {
 
     @PostConstruct
     public void initializeSampleLLMTasks() {
-        if (llmTasksSignal.value().isEmpty()) {
+        if (llmTasksSignal.peek().isEmpty()) {
             llmTasksSignal.insertLast(
                     Task.create("Review pull requests",
                                     "Review and merge pending pull requests")
@@ -0,0 +1,65 @@
+package com.example.signals;
+
+import java.util.function.DoubleFunction;
+
+import com.vaadin.signals.Signal;
+
+/**
+ * Shared signal holding a {@code double} without boxing, stored as its bit
+ * pattern. Values are compared by bit pattern, so {@code 0.0} and
+ * {@code -0.0} are different values and {@code NaN} equals itself. Writes do
+ * not take part in transactions.
+ */
+public class DoubleSignal extends PrimitiveSignal {
+
+    public DoubleSignal(double initialValue) {
+        super(Double.doubleToLongBits(initialValue));
+    }
+
+    /**
+     * Get the value and register a dependency when called from an effect or
+     * a computed signal.
+     */
+    public double value() {
+        return Double.longBitsToDouble(trackedBits());
+    }
+
+    /**
+     * Get the value without registering a dependency.
+     */
+    public double peek() {
+        return Double.longBitsToDouble(peekBits());
+    }
+
+    public void set(double newValue) {
+        setBits(Double.doubleToLongBits(newValue));
+    }
+
+    public double addAndGet(double delta) {
+        while (true) {
+            long current = peekBits();
+            double result = Double.longBitsToDouble(current) + delta;
+            if (compareAndSetBits(current, Double.doubleToLongBits(result))) {
+                return result;
+            }
+        }
+    }
+
+    /**
+     * Set the value only if it is still the expected one.
+     *
+     * @return {@code true} if the value was set
+     */
+    public boolean compareAndSet(double expectedValue, double newValue) {
+        return compareAndSetBits(Double.doubleToLongBits(expectedValue),
+                Double.doubleToLongBits(newValue));
+    }
+
+    /**
+     * Create a signal with a value computed from this one, e.g. for binding
+     * it to a component.
+     */
+    public <R> Signal<R> map(DoubleFunction<R> mapper) {
+        return Signal.computed(() -> mapper.apply(value()));
+    }
+}
@@ -0,0 +1,159 @@
+package com.example.signals;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.vaadin.signals.Signal;
+
+/**
+ * Removes sessions from the UserSessionRegistry when they have been idle for
+ * too long, e.g. abandoned tabs whose UI never detached, and lets the shared
+ * signal beans release the state they keep for those sessions.
+ *
+ * Deadlines are kept in a hashed timing wheel, so each tick only looks at the
+ * sessions due in that slot instead of scanning all sessions. A deadline is
+ * based on the last interaction time plus a timeout that is shorter for hidden
+ * tabs. When a deadline is reached, the current activity is checked again and
+ * the session is rescheduled if it was active in the meantime.
+ */
+@Component
+public class IdleSessionReaper {
+
+    private static final int WHEEL_SIZE = 512;
+
+    /**
+     * Callback for releasing per-session state when a session is reaped.
+     */
+    @FunctionalInterface
+    public interface CleanupHook {
+        void sessionReaped(SessionKey sessionKey);
+    }
+
+    private record Timeout(SessionKey sessionKey, long deadline) {
+    }
+
+    private final UserSessionRegistry userSessionRegistry;
+    private final long tickMillis;
+    private final long hiddenTabTimeoutMillis;
+    private final long visibleTabTimeoutMillis;
+    private final List<CleanupHook> cleanupHooks = new CopyOnWriteArrayList<>();
+
+    // Guarded by this
+    private final List<List<Timeout>> wheel = new ArrayList<>(WHEEL_SIZE);
+    private final Map<SessionKey, Long> deadlines = new HashMap<>();
+    private long currentTick;
+
+    public IdleSessionReaper(UserSessionRegistry userSessionRegistry,
+            @Value("${app.session-reaper.tick-ms:1000}") long tickMillis,
+            @Value("${app.session-reaper.hidden-tab-timeout-ms:600000}") long hiddenTabTimeoutMillis,
+            @Value("${app.session-reaper.visible-tab-timeout-ms:3600000}") long visibleTabTimeoutMillis) {
+        this.userSessionRegistry = userSessionRegistry;
+        this.tickMillis = Math.max(1, tickMillis);
+        this.hiddenTabTimeoutMillis = hiddenTabTimeoutMillis;
+        this.visibleTabTimeoutMillis = visibleTabTimeoutMillis;
+        for (int i = 0; i < WHEEL_SIZE; i++) {
+            wheel.add(new ArrayList<>());
+        }
+        this.currentTick = System.currentTimeMillis() / this.tickMillis;
+
+        userSessionRegistry.addSessionActivityListener(this::schedule);
+    }
+
+    /**
+     * Register a hook that is called after a session has been reaped and
+     * removed from the registry.
+     */
+    public void addCleanupHook(CleanupHook hook) {
+        cleanupHooks.add(hook);
+    }
+
+    /**
+     * Schedule (or reschedule) the idle check of a session based on its
+     * current activity. Earlier deadlines of the same session are discarded
+     * when they come up.
+     */
+    public void schedule(SessionKey sessionKey, SessionActivity activity) {
+        long deadline = deadlineOf(activity);
+        synchronized (this) {
+            deadlines.put(sessionKey, deadline);
+            long tick = Math.max(deadline / tickMillis, currentTick);
+            wheel.get((int) (tick % WHEEL_SIZE))
+                    .add(new Timeout(sessionKey, deadline));
+        }
+    }
+
+    /**
+     * Advances the wheel to the current time and checks the sessions whose
+     * deadline passed.
+     */
+    @Scheduled(fixedRateString = "${app.session-reaper.tick-ms:1000}")
+    public void tick() {
+        long now = System.currentTimeMillis();
+        List<Timeout> expired = new ArrayList<>();
+
+        synchronized (this) {
+            long targetTick = now / tickMillis;
+            // After a long pause every slot is visited once
+            currentTick = Math.max(currentTick, targetTick - WHEEL_SIZE);
+            for (; currentTick < targetTick; currentTick++) {
+                Iterator<Timeout> slot = wheel
+                        .get((int) (currentTick % WHEEL_SIZE)).iterator();
+                while (slot.hasNext()) {
+                    Timeout timeout = slot.next();
+                    if (timeout.deadline() > now) {
+                        // Due in a later round of the wheel
+                        continue;
+                    }
+                    slot.remove();
+                    SessionKey key = timeout.sessionKey();
+                    if (Objects.equals(deadlines.get(key),
+                            timeout.deadline())) {
+                        deadlines.remove(key);
+                        expired.add(timeout);
+                    }
+                }
+            }
+        }
+
+        expired.forEach(this::checkIdle);
+    }
+
+    private void checkIdle(Timeout timeout) {
+        Signal<SessionActivity> activitySignal = userSessionRegistry
+                .getSessionActivitySignal(timeout.sessionKey());
+        if (activitySignal == null) {
+            // Already unregistered
+            return;
+        }
+
+        SessionActivity activity = activitySignal.value();
+        if (deadlineOf(activity) > System.currentTimeMillis()) {
+            schedule(timeout.sessionKey(), activity);
+        } else {
+            reap(timeout.sessionKey());
+        }
+    }
+
+    private void reap(SessionKey sessionKey) {
+        userSessionRegistry.unregisterUser(sessionKey.username(),
+                sessionKey.sessionId());
+        for (CleanupHook hook : cleanupHooks) {
+            hook.sessionReaped(sessionKey);
+        }
+    }
+
+    private long deadlineOf(SessionActivity activity) {
+        return activity.lastInteractionTime() + (activity.isTabActive()
+                ? visibleTabTimeoutMillis
+                : hiddenTabTimeoutMillis);
+    }
+}
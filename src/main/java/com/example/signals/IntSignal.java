@@ -0,0 +1,72 @@
+package com.example.signals;
+
+import java.util.function.IntFunction;
+
+import com.vaadin.signals.Signal;
+
+/**
+ * Shared signal holding an {@code int} without boxing. Writes that do not
+ * change the value do not notify dependents. Writes do not take part in
+ * transactions.
+ */
+public class IntSignal extends PrimitiveSignal {
+
+    public IntSignal(int initialValue) {
+        super(initialValue);
+    }
+
+    /**
+     * Get the value and register a dependency when called from an effect or
+     * a computed signal.
+     */
+    public int value() {
+        return (int) trackedBits();
+    }
+
+    /**
+     * Get the value without registering a dependency.
+     */
+    public int peek() {
+        return (int) peekBits();
+    }
+
+    public void set(int newValue) {
+        setBits(newValue);
+    }
+
+    public int incrementAndGet() {
+        return addAndGet(1);
+    }
+
+    public int decrementAndGet() {
+        return addAndGet(-1);
+    }
+
+    public int addAndGet(int delta) {
+        // The stored bits stay sign-extended, so an overflow wraps like int
+        while (true) {
+            long current = peekBits();
+            int result = (int) current + delta;
+            if (compareAndSetBits(current, result)) {
+                return result;
+            }
+        }
+    }
+
+    /**
+     * Set the value only if it is still the expected one.
+     *
+     * @return {@code true} if the value was set
+     */
+    public boolean compareAndSet(int expectedValue, int newValue) {
+        return compareAndSetBits(expectedValue, newValue);
+    }
+
+    /**
+     * Create a signal with a value computed from this one, e.g. for binding
+     * it to a component.
+     */
+    public <R> Signal<R> map(IntFunction<R> mapper) {
+        return Signal.computed(() -> mapper.apply(value()));
+    }
+}
@@ -0,0 +1,61 @@
+package com.example.signals;
+
+import java.util.function.LongFunction;
+
+import com.vaadin.signals.Signal;
+
+/**
+ * Shared signal holding a {@code long} without boxing. Writes that do not
+ * change the value do not notify dependents. Writes do not take part in
+ * transactions.
+ */
+public class LongSignal extends PrimitiveSignal {
+
+    public LongSignal(long initialValue) {
+        super(initialValue);
+    }
+
+    /**
+     * Get the value and register a dependency when called from an effect or
+     * a computed signal.
+     */
+    public long value() {
+        return trackedBits();
+    }
+
+    /**
+     * Get the value without registering a dependency.
+     */
+    public long peek() {
+        return peekBits();
+    }
+
+    public void set(long newValue) {
+        setBits(newValue);
+    }
+
+    public long incrementAndGet() {
+        return addAndGet(1);
+    }
+
+    public long addAndGet(long delta) {
+        return addAndGetBits(delta);
+    }
+
+    /**
+     * Set the value only if it is still the expected one.
+     *
+     * @return {@code true} if the value was set
+     */
+    public boolean compareAndSet(long expectedValue, long newValue) {
+        return compareAndSetBits(expectedValue, newValue);
+    }
+
+    /**
+     * Create a signal with a value computed from this one, e.g. for binding
+     * it to a component.
+     */
+    public <R> Signal<R> map(LongFunction<R> mapper) {
+        return Signal.computed(() -> mapper.apply(value()));
+    }
+}
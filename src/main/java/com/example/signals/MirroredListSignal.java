@@ -0,0 +1,112 @@
+package com.example.signals;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Predicate;
+import java.util.function.UnaryOperator;
+
+import com.vaadin.signals.Signal;
+import com.vaadin.signals.shared.SharedListSignal;
+import com.vaadin.signals.shared.SharedValueSignal;
+
+/**
+ * Shared list kept both as a {@link SharedListSignal}, whose per-item signals
+ * rows and grids bind to, and as a {@link PersistentListSignal} with the same
+ * items in the same order. Aggregates over the whole list, like counts, are
+ * derived from the persistent snapshots and only re-check changed items,
+ * instead of every reader streaming all item signals again.
+ *
+ * All writes must go through this class to keep the two lists in step;
+ * writing to an item signal directly is not seen by the snapshots.
+ */
+public class MirroredListSignal<T> {
+
+    private final SharedListSignal<T> rows;
+    private final PersistentListSignal<T> snapshots = new PersistentListSignal<>();
+
+    public MirroredListSignal(Class<T> itemType) {
+        rows = new SharedListSignal<>(itemType);
+    }
+
+    /**
+     * Get the list with one signal per item, for binding rows.
+     */
+    public SharedListSignal<T> getRowsSignal() {
+        return rows;
+    }
+
+    /**
+     * Get the list of immutable snapshots of the items.
+     */
+    public PersistentListSignal<T> getSnapshots() {
+        return snapshots;
+    }
+
+    /**
+     * Get the current items and register a dependency on the list when called
+     * from an effect or a computed signal.
+     */
+    public List<T> value() {
+        return snapshots.value();
+    }
+
+    /**
+     * Get the current items without registering a dependency.
+     */
+    public List<T> peek() {
+        return snapshots.peek();
+    }
+
+    public Signal<Integer> size() {
+        return Signal.computed(() -> snapshots.value().size());
+    }
+
+    /**
+     * Create a signal with the number of items matching the predicate. See
+     * {@link PersistentListSignal#count(Predicate)}.
+     */
+    public Signal<Integer> count(Predicate<? super T> predicate) {
+        return snapshots.count(predicate);
+    }
+
+    /**
+     * Find the signal of the first item matching the predicate.
+     */
+    public synchronized Optional<SharedValueSignal<T>> findRow(
+            Predicate<? super T> predicate) {
+        PersistentVector<T> items = snapshots.peek();
+        for (int i = 0; i < items.size(); i++) {
+            if (predicate.test(items.get(i))) {
+                return Optional.of(rows.peek().get(i));
+            }
+        }
+        return Optional.empty();
+    }
+
+    public synchronized void insertLast(T item) {
+        rows.insertLast(item);
+        snapshots.insertLast(item);
+    }
+
+    /**
+     * Replace the item of a row with a value computed from it. Does nothing if
+     * the row has been removed.
+     */
+    public synchronized void update(SharedValueSignal<T> row,
+            UnaryOperator<T> updater) {
+        int index = rows.peek().indexOf(row);
+        if (index >= 0) {
+            T updated = updater.apply(row.peek());
+            row.value(updated);
+            snapshots.set(index, updated);
+        }
+    }
+
+    public synchronized void remove(SharedValueSignal<T> row) {
+        int index = rows.peek().indexOf(row);
+        if (index >= 0) {
+            rows.remove(row);
+            snapshots.remove(index);
+        }
+    }
+}
@@ -0,0 +1,124 @@
+package com.example.signals;
+
+import java.util.function.Predicate;
+import java.util.function.UnaryOperator;
+
+import com.vaadin.signals.Signal;
+import com.vaadin.signals.shared.SharedValueSignal;
+
+/**
+ * Shared list signal whose value is a {@link PersistentVector}. Every write
+ * produces a new immutable snapshot that shares all unchanged parts with the
+ * previous one, so reading an item or replacing one is O(log n) and holding on
+ * to old snapshots is cheap.
+ *
+ * Readers that derive something from the whole list, like a count, can keep
+ * the snapshot they last processed and visit only the changed indexes with
+ * {@link PersistentVector#forEachChange} instead of scanning the list again;
+ * see {@link #count(Predicate)}.
+ *
+ * Unlike {@code SharedListSignal}, items have no signals of their own. Items
+ * should be immutable values.
+ */
+public class PersistentListSignal<T> {
+
+    private final SharedValueSignal<Long> versionSignal = new SharedValueSignal<>(
+            0L);
+
+    // Guarded by this for writes
+    private volatile PersistentVector<T> items = PersistentVector.empty();
+    private long version;
+
+    /**
+     * Get the current snapshot and register a dependency on the list when
+     * called from an effect or a computed signal.
+     */
+    public PersistentVector<T> value() {
+        versionSignal.value();
+        return items;
+    }
+
+    /**
+     * Get the current snapshot without registering a dependency.
+     */
+    public PersistentVector<T> peek() {
+        return items;
+    }
+
+    /**
+     * Get the signal holding the version of the current snapshot. The
+     * version grows by one with every write.
+     */
+    public Signal<Long> getVersionSignal() {
+        return versionSignal;
+    }
+
+    public T get(int index) {
+        return value().get(index);
+    }
+
+    public int size() {
+        return value().size();
+    }
+
+    public synchronized void insertLast(T item) {
+        write(items.append(item));
+    }
+
+    public synchronized void set(int index, T item) {
+        write(items.with(index, item));
+    }
+
+    /**
+     * Replace the item at the index with a value computed from it. The update
+     * is atomic with respect to other writes to this list.
+     */
+    public synchronized void update(int index, UnaryOperator<T> updater) {
+        write(items.with(index, updater.apply(items.get(index))));
+    }
+
+    public synchronized void remove(int index) {
+        write(items.without(index));
+    }
+
+    public void clear() {
+        write(PersistentVector.empty());
+    }
+
+    /**
+     * Create a signal with the number of items matching the predicate. After
+     * the first computation, only the indexes changed since the previously
+     * counted snapshot are checked again.
+     */
+    public Signal<Integer> count(Predicate<? super T> predicate) {
+        class Counter {
+            private PersistentVector<T> counted = PersistentVector.empty();
+            private int count;
+        }
+        Counter counter = new Counter();
+
+        return Signal.computed(() -> {
+            PersistentVector<T> current = value();
+            synchronized (counter) {
+                PersistentVector<T> previous = counter.counted;
+                current.forEachChange(previous, index -> {
+                    if (index < previous.size()
+                            && predicate.test(previous.get(index))) {
+                        counter.count--;
+                    }
+                    if (index < current.size()
+                            && predicate.test(current.get(index))) {
+                        counter.count++;
+                    }
+                });
+                counter.counted = current;
+                return counter.count;
+            }
+        });
+    }
+
+    private synchronized void write(PersistentVector<T> updated) {
+        items = updated;
+        versionSignal.value(++version);
+    }
+}
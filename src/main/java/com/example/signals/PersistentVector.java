@@ -0,0 +1,242 @@
+package com.example.signals;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Objects;
+import java.util.RandomAccess;
+import java.util.function.IntConsumer;
+
+/**
+ * Immutable list stored as a 32-way tree with structural sharing. Indexed
+ * reads, replacing an item and appending are O(log n) and copy only the path
+ * to the changed item, so every version can be kept as a cheap snapshot.
+ * Removing an item is O(n) since all items after it move.
+ *
+ * Because unchanged parts of the tree are shared between versions,
+ * {@link #forEachChange(PersistentVector, IntConsumer)} can find the
+ * differences between two related versions without visiting every item.
+ */
+public final class PersistentVector<T> extends AbstractList<T>
+        implements RandomAccess {
+
+    private static final int BITS = 5;
+    private static final int WIDTH = 1 << BITS;
+    private static final int MASK = WIDTH - 1;
+
+    private static final PersistentVector<?> EMPTY = new PersistentVector<>(0,
+            BITS, new Object[WIDTH], new Object[0]);
+
+    private final int size;
+    private final int shift;
+    private final Object[] root;
+    // The last, partially filled leaf is kept outside the tree so that
+    // appends usually copy only this array
+    private final Object[] tail;
+
+    private PersistentVector(int size, int shift, Object[] root,
+            Object[] tail) {
+        this.size = size;
+        this.shift = shift;
+        this.root = root;
+        this.tail = tail;
+    }
+
+    @SuppressWarnings("unchecked")
+    public static <T> PersistentVector<T> empty() {
+        return (PersistentVector<T>) EMPTY;
+    }
+
+    public static <T> PersistentVector<T> of(Collection<? extends T> items) {
+        PersistentVector<T> vector = empty();
+        for (T item : items) {
+            vector = vector.append(item);
+        }
+        return vector;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public T get(int index) {
+        Objects.checkIndex(index, size);
+        return (T) leafFor(index)[index & MASK];
+    }
+
+    /**
+     * Get a copy with the item at the index replaced.
+     */
+    public PersistentVector<T> with(int index, T item) {
+        Objects.checkIndex(index, size);
+        if (index >= tailOffset()) {
+            Object[] newTail = tail.clone();
+            newTail[index & MASK] = item;
+            return new PersistentVector<>(size, shift, root, newTail);
+        }
+        return new PersistentVector<>(size, shift,
+                replace(shift, root, index, item), tail);
+    }
+
+    /**
+     * Get a copy with the item added to the end.
+     */
+    public PersistentVector<T> append(T item) {
+        if (size - tailOffset() < WIDTH) {
+            Object[] newTail = Arrays.copyOf(tail, tail.length + 1);
+            newTail[tail.length] = item;
+            return new PersistentVector<>(size + 1, shift, root, newTail);
+        }
+
+        // The tail is full, move it into the tree
+        Object[] newRoot;
+        int newShift = shift;
+        if ((size >>> BITS) > (1 << shift)) {
+            newRoot = new Object[WIDTH];
+            newRoot[0] = root;
+            newRoot[1] = newPath(shift, tail);
+            newShift += BITS;
+        } else {
+            newRoot = pushTail(shift, root, tail);
+        }
+        return new PersistentVector<>(size + 1, newShift, newRoot,
+                new Object[] { item });
+    }
+
+    /**
+     * Get a copy without the item at the index. This rebuilds the vector and
+     * takes O(n) time.
+     */
+    public PersistentVector<T> without(int index) {
+        Objects.checkIndex(index, size);
+        PersistentVector<T> result = empty();
+        for (int i = 0; i < size; i++) {
+            if (i != index) {
+                result = result.append(get(i));
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Report the indexes at which this vector may differ from a previous
+     * version: items that were replaced, appended or removed. Subtrees shared
+     * with the previous version are skipped, so the cost depends on the
+     * number of changes rather than on the size when this vector was derived
+     * from the previous one by replacing and appending items.
+     *
+     * @param previous
+     *            the version to compare with
+     * @param action
+     *            receives each index, in ascending order
+     */
+    public void forEachChange(PersistentVector<T> previous,
+            IntConsumer action) {
+        int common = Math.min(size, previous.size);
+        int treeLimit = Math.min(Math.min(tailOffset(), previous.tailOffset()),
+                common);
+
+        if (treeLimit > 0 && shift >= previous.shift) {
+            // Appending can only grow the tree at the root, with the previous
+            // root kept as the leftmost child
+            Object[] node = root;
+            for (int level = shift; level > previous.shift; level -= BITS) {
+                node = (Object[]) node[0];
+            }
+            compare(previous.shift, node, previous.root, 0, treeLimit, action);
+        } else {
+            compareItems(previous, 0, treeLimit, action);
+        }
+        compareItems(previous, treeLimit, common, action);
+
+        for (int i = common; i < Math.max(size, previous.size); i++) {
+            action.accept(i);
+        }
+    }
+
+    private void compareItems(PersistentVector<T> previous, int from, int to,
+            IntConsumer action) {
+        for (int i = from; i < to; i++) {
+            if (get(i) != previous.get(i)) {
+                action.accept(i);
+            }
+        }
+    }
+
+    private static void compare(int level, Object[] node, Object[] previous,
+            int base, int limit, IntConsumer action) {
+        if (node == previous) {
+            return;
+        }
+        if (level == 0) {
+            for (int i = 0; i < WIDTH && base + i < limit; i++) {
+                if (node[i] != previous[i]) {
+                    action.accept(base + i);
+                }
+            }
+            return;
+        }
+        for (int i = 0; i < WIDTH; i++) {
+            int childBase = base + (i << level);
+            if (childBase >= limit) {
+                break;
+            }
+            compare(level - BITS, (Object[]) node[i], (Object[]) previous[i],
+                    childBase, limit, action);
+        }
+    }
+
+    private int tailOffset() {
+        return size < WIDTH ? 0 : ((size - 1) >>> BITS) << BITS;
+    }
+
+    private Object[] leafFor(int index) {
+        if (index >= tailOffset()) {
+            return tail;
+        }
+        Object[] node = root;
+        for (int level = shift; level > 0; level -= BITS) {
+            node = (Object[]) node[(index >>> level) & MASK];
+        }
+        return node;
+    }
+
+    private static Object[] replace(int level, Object[] node, int index,
+            Object item) {
+        Object[] copy = node.clone();
+        if (level == 0) {
+            copy[index & MASK] = item;
+        } else {
+            int child = (index >>> level) & MASK;
+            copy[child] = replace(level - BITS, (Object[]) node[child], index,
+                    item);
+        }
+        return copy;
+    }
+
+    private Object[] pushTail(int level, Object[] parent, Object[] leaf) {
+        int child = ((size - 1) >>> level) & MASK;
+        Object[] copy = parent.clone();
+        if (level == BITS) {
+            copy[child] = leaf;
+        } else {
+            Object[] existing = (Object[]) parent[child];
+            copy[child] = existing != null
+                    ? pushTail(level - BITS, existing, leaf)
+                    : newPath(level - BITS, leaf);
+        }
+        return copy;
+    }
+
+    private static Object[] newPath(int level, Object[] leaf) {
+        if (level == 0) {
+            return leaf;
+        }
+        Object[] node = new Object[WIDTH];
+        node[0] = newPath(level - BITS, leaf);
+        return node;
+    }
+}
@@ -0,0 +1,73 @@
+package com.example.signals;
+
+import com.vaadin.signals.Signal;
+
+/**
+ * Shared signal holding a pair of {@code int} coordinates packed into one
+ * {@code long}. Both coordinates are always read and written together, and a
+ * write allocates no point object. Writes do not take part in transactions.
+ */
+public class PointSignal extends PrimitiveSignal {
+
+    /**
+     * Function of both coordinates of a point.
+     */
+    @FunctionalInterface
+    public interface PointMapper<R> {
+        R apply(int x, int y);
+    }
+
+    public PointSignal(int x, int y) {
+        super(pack(x, y));
+    }
+
+    public void set(int x, int y) {
+        setBits(pack(x, y));
+    }
+
+    /**
+     * Set both coordinates only if the point is still the expected one.
+     *
+     * @return {@code true} if the point was set
+     */
+    public boolean compareAndSet(int expectedX, int expectedY, int x, int y) {
+        return compareAndSetBits(pack(expectedX, expectedY), pack(x, y));
+    }
+
+    /**
+     * Apply a function to the current coordinates and register a dependency
+     * when called from an effect or a computed signal.
+     */
+    public <R> R value(PointMapper<R> reader) {
+        return read(trackedBits(), reader);
+    }
+
+    /**
+     * Apply a function to the current coordinates without registering a
+     * dependency.
+     */
+    public <R> R peek(PointMapper<R> reader) {
+        return read(peekBits(), reader);
+    }
+
+    /**
+     * Create a signal with a value computed from the coordinates, e.g. for
+     * binding them to a component.
+     */
+    public <R> Signal<R> map(PointMapper<R> mapper) {
+        return Signal.computed(() -> value(mapper));
+    }
+
+    @Override
+    public String toString() {
+        return peek((x, y) -> "(" + x + ", " + y + ")");
+    }
+
+    private static long pack(int x, int y) {
+        return ((long) x << 32) | (y & 0xFFFFFFFFL);
+    }
+
+    private static <R> R read(long value, PointMapper<R> reader) {
+        return reader.apply((int) (value >>> 32), (int) value);
+    }
+}
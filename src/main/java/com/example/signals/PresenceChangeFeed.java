@@ -0,0 +1,116 @@
+package com.example.signals;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Consumer;
+import java.util.function.LongSupplier;
+
+import com.vaadin.flow.component.Component;
+import com.vaadin.flow.component.ComponentEffect;
+import com.vaadin.signals.Signal;
+import com.vaadin.signals.shared.SharedValueSignal;
+
+/**
+ * Versioned feed of presence changes. Instead of re-reading the whole list of
+ * active users, subscribers remember the last version they applied and fetch
+ * only the events after it. A bounded history is kept; a subscriber that falls
+ * behind it has to resync from a full snapshot.
+ */
+public class PresenceChangeFeed {
+
+    private final int historySize;
+    private final SharedValueSignal<Long> versionSignal = new SharedValueSignal<>(
+            0L);
+
+    // Guarded by this
+    private final Deque<PresenceEvent> history = new ArrayDeque<>();
+    private long version;
+
+    public PresenceChangeFeed(int historySize) {
+        this.historySize = historySize;
+    }
+
+    /**
+     * Get the signal holding the latest published version. Reading it in an
+     * effect makes the effect run whenever new events are available.
+     */
+    public Signal<Long> getVersionSignal() {
+        return versionSignal;
+    }
+
+    /**
+     * Get the latest published version.
+     */
+    public synchronized long getVersion() {
+        return version;
+    }
+
+    /**
+     * Get the events published after the given version, in version order.
+     *
+     * @param fromVersion
+     *            the last version the caller has applied
+     * @return the newer events, or an empty optional if some of them are no
+     *         longer in the history and the caller must resync
+     */
+    public synchronized Optional<List<PresenceEvent>> eventsSince(
+            long fromVersion) {
+        if (fromVersion >= version) {
+            return Optional.of(List.of());
+        }
+        if (history.isEmpty()
+                || history.peekFirst().version() > fromVersion + 1) {
+            return Optional.empty();
+        }
+
+        List<PresenceEvent> events = new ArrayList<>();
+        Iterator<PresenceEvent> newestFirst = history.descendingIterator();
+        while (newestFirst.hasNext()) {
+            PresenceEvent event = newestFirst.next();
+            if (event.version() <= fromVersion) {
+                break;
+            }
+            events.add(event);
+        }
+        return Optional.of(events.reversed());
+    }
+
+    /**
+     * Subscribe a component to the feed. Events after {@code fromVersion} are
+     * delivered in batches while the component is attached. If the subscriber
+     * falls behind the history, {@code onResync} is called instead and must
+     * return the version of the snapshot it rebuilt from.
+     */
+    public void subscribe(Component owner, long fromVersion,
+            Consumer<List<PresenceEvent>> onEvents,
+            LongSupplier onResync) {
+        long[] applied = { fromVersion };
+        ComponentEffect.effect(owner, () -> {
+            versionSignal.value();
+            eventsSince(applied[0]).ifPresentOrElse(events -> {
+                if (!events.isEmpty()) {
+                    onEvents.accept(events);
+                    applied[0] = events.get(events.size() - 1).version();
+                }
+            }, () -> applied[0] = onResync.getAsLong());
+        });
+    }
+
+    void publish(PresenceEvent.Type type, SessionKey sessionKey,
+            String displayName, String currentView) {
+        long published;
+        synchronized (this) {
+            published = ++version;
+            history.addLast(new PresenceEvent(published, type, sessionKey,
+                    displayName, currentView));
+            if (history.size() > historySize) {
+                history.removeFirst();
+            }
+        }
+        versionSignal.value(published);
+    }
+}
@@ -0,0 +1,31 @@
+package com.example.signals;
+
+/**
+ * A single change in the set of active sessions, as published by the
+ * {@link PresenceChangeFeed}. Each event carries the state after the change,
+ * so applying events in version order gives the current presence.
+ *
+ * @param version     monotonically increasing version of the feed
+ * @param type        the kind of change
+ * @param sessionKey  the session that changed
+ * @param displayName the display name of the session after the change
+ * @param currentView the view route of the session after the change
+ */
+public record PresenceEvent(long version, Type type, SessionKey sessionKey,
+        String displayName, String currentView) {
+
+    public enum Type {
+        /** A session was registered. */
+        JOINED,
+        /** A session was unregistered. */
+        LEFT,
+        /** The display name of a session changed. */
+        RENAMED,
+        /** A session navigated to another view. */
+        MOVED_VIEW,
+        /** The tab of a session was hidden. */
+        WENT_IDLE,
+        /** The tab of a session became visible again. */
+        BECAME_ACTIVE
+    }
+}
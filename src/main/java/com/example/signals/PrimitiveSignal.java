@@ -0,0 +1,79 @@
+package com.example.signals;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.vaadin.signals.shared.SharedNumberSignal;
+
+/**
+ * Base for signals that keep their value in an atomic {@code long} field
+ * instead of a boxed signal value. Dependencies are tracked through a shared
+ * change counter. The counter is only incremented by the first change after
+ * the value was last read with tracking, so a series of writes that no one
+ * observes in between costs one shared write instead of one per write, and
+ * writes that no one tracks cost none after the first.
+ *
+ * The value is not part of the signal tree, so these signals do not take
+ * part in transactions: a write made while a transaction or
+ * {@link com.example.SignalBatch} is running is visible right away and is not
+ * rolled back. Use them for values that can be written on their own.
+ */
+abstract class PrimitiveSignal {
+
+    private final AtomicLong bits;
+    private final SharedNumberSignal changeCounter = new SharedNumberSignal();
+    // Set when a change has been published that no tracked read has seen yet
+    private final AtomicBoolean changePublished = new AtomicBoolean();
+
+    protected PrimitiveSignal(long initialBits) {
+        bits = new AtomicLong(initialBits);
+    }
+
+    /**
+     * Get the bits and register a dependency when called from an effect or a
+     * computed signal.
+     */
+    protected long trackedBits() {
+        // Cleared before reading, so any later change publishes again
+        changePublished.set(false);
+        changeCounter.value();
+        return bits.get();
+    }
+
+    /**
+     * Get the bits without registering a dependency.
+     */
+    protected long peekBits() {
+        return bits.get();
+    }
+
+    protected void setBits(long newBits) {
+        if (bits.getAndSet(newBits) != newBits) {
+            changed();
+        }
+    }
+
+    protected long addAndGetBits(long delta) {
+        long result = bits.addAndGet(delta);
+        if (delta != 0) {
+            changed();
+        }
+        return result;
+    }
+
+    protected boolean compareAndSetBits(long expectedBits, long newBits) {
+        if (!bits.compareAndSet(expectedBits, newBits)) {
+            return false;
+        }
+        if (expectedBits != newBits) {
+            changed();
+        }
+        return true;
+    }
+
+    private void changed() {
+        if (changePublished.compareAndSet(false, true)) {
+            changeCounter.incrementBy(1);
+        }
+    }
+}
@@ -0,0 +1,25 @@
+package com.example.signals;
+
+/**
+ * Frequently changing activity state of a user session. Kept separate from
+ * {@link UserInfo} so that heartbeat updates don't invalidate display names
+ * and avatars.
+ */
+public record SessionActivity(boolean isTabActive, long lastInteractionTime) {
+
+    // Default constructor for Jackson deserialization
+    public SessionActivity() {
+        this(true, System.currentTimeMillis());
+    }
+
+    // Helper to create updated instance with new tab activity state
+    public SessionActivity withTabActive(boolean newTabActive) {
+        return new SessionActivity(newTabActive, lastInteractionTime);
+    }
+
+    // Helper to create updated instance with new last interaction time
+    public SessionActivity withLastInteractionTime(
+            long newLastInteractionTime) {
+        return new SessionActivity(isTabActive, newLastInteractionTime);
+    }
+}
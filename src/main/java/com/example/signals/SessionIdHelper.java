@@ -1,7 +1,10 @@
 package com.example.signals;
 
 import com.vaadin.flow.component.UI;
+import com.vaadin.flow.server.VaadinRequest;
 import com.vaadin.flow.server.VaadinSession;
+import com.vaadin.flow.server.WrappedSession;
+import com.vaadin.flow.shared.ApplicationConstants;
 
 /**
  * Helper class for generating globally unique session identifiers.
@@ -30,4 +33,36 @@ public class SessionIdHelper {
 
         return vaadinSessionId + ":" + uiId;
     }
+
+    /**
+     * Get the session key of the current UI for a user.
+     *
+     * @param username
+     *            the logged-in user of the current UI
+     * @return the session key for the current UI instance
+     */
+    public static SessionKey getCurrentSessionKey(String username) {
+        return SessionKey.of(username, getCurrentSessionId());
+    }
+
+    /**
+     * Get the globally unique session ID of the UI that sent a request, without
+     * requiring the session lock or a current UI. Uses the same format as
+     * {@link #getCurrentSessionId()}.
+     *
+     * @param request
+     *            the request to read the HTTP session and UI id from
+     * @return unique session identifier, or null if the request has no HTTP
+     *         session or does not target a UI
+     */
+    public static String getSessionId(VaadinRequest request) {
+        WrappedSession session = request.getWrappedSession(false);
+        String uiId = request.getParameter(ApplicationConstants.UI_ID_PARAMETER);
+
+        if (session == null || uiId == null) {
+            return null;
+        }
+
+        return session.getId() + ":" + uiId;
+    }
 }
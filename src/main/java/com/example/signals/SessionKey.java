@@ -0,0 +1,109 @@
+package com.example.signals;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Canonical identifier of a user session (one UI of a logged-in user) with a
+ * precomputed hash. Keys of registered sessions are interned by the
+ * UserSessionRegistry, so the same username and session ID give the same
+ * object and the "username:sessionId" string used as key in shared map
+ * signals is only built once per session.
+ */
+public final class SessionKey {
+
+    // Interned keys by session ID and by id string
+    private static final Map<String, SessionKey> BY_SESSION_ID = new ConcurrentHashMap<>();
+    private static final Map<String, SessionKey> BY_ID = new ConcurrentHashMap<>();
+
+    private final String username;
+    private final String sessionId;
+    private final String id;
+    private final int hash;
+
+    private SessionKey(String username, String sessionId) {
+        this.username = username;
+        this.sessionId = sessionId;
+        this.id = username + ":" + sessionId;
+        this.hash = id.hashCode();
+    }
+
+    /**
+     * Get the key for a username and session ID. Returns the interned instance
+     * while the session is registered, otherwise a new equal key.
+     */
+    public static SessionKey of(String username, String sessionId) {
+        SessionKey key = BY_SESSION_ID.get(sessionId);
+        if (key != null && key.username.equals(username)) {
+            return key;
+        }
+        return new SessionKey(username, sessionId);
+    }
+
+    /**
+     * Get the key for an id string in "username:sessionId" format, as used in
+     * shared map signals. Keys of registered sessions are looked up without
+     * parsing.
+     */
+    public static SessionKey fromId(String id) {
+        SessionKey key = BY_ID.get(id);
+        if (key != null) {
+            return key;
+        }
+        int separator = id.indexOf(':');
+        if (separator < 0) {
+            throw new IllegalArgumentException("Not a session key: " + id);
+        }
+        return new SessionKey(id.substring(0, separator),
+                id.substring(separator + 1));
+    }
+
+    /**
+     * Intern the key of a session that is being registered.
+     */
+    static SessionKey intern(String username, String sessionId) {
+        SessionKey key = of(username, sessionId);
+        SessionKey interned = BY_ID.computeIfAbsent(key.id, id -> key);
+        BY_SESSION_ID.put(sessionId, interned);
+        return interned;
+    }
+
+    /**
+     * Drop a key from the intern table once its session has ended.
+     */
+    static void release(SessionKey key) {
+        BY_ID.remove(key.id, key);
+        BY_SESSION_ID.remove(key.sessionId, key);
+    }
+
+    public String username() {
+        return username;
+    }
+
+    public String sessionId() {
+        return sessionId;
+    }
+
+    /**
+     * Get the "username:sessionId" string form, for use as shared map key.
+     */
+    public String id() {
+        return id;
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        return this == obj
+                || (obj instanceof SessionKey other && id.equals(other.id));
+    }
+
+    @Override
+    public int hashCode() {
+        return hash;
+    }
+
+    @Override
+    public String toString() {
+        return id;
+    }
+}
@@ -1,51 +1,45 @@
 package com.example.signals;
 
 /**
- * Information about an active user session.
+ * Information about an active user session. Only holds the fields that are
+ * shown in presence displays; high-frequency activity state lives in
+ * {@link SessionActivity}.
  */
 public record UserInfo(String username, String sessionId, String currentView,
-        String nickname, long sessionStartTime, boolean isTabActive,
-        long lastInteractionTime) {
+        String nickname, long sessionStartTime) {
 
     // Constructor with current view and nickname (legacy compatibility)
     public UserInfo(String username, String sessionId, String currentView,
             String nickname) {
         this(username, sessionId, currentView, nickname,
-                System.currentTimeMillis(), true, System.currentTimeMillis());
+                System.currentTimeMillis());
     }
 
     // Constructor without view or nickname (defaults to null)
     public UserInfo(String username, String sessionId) {
-        this(username, sessionId, null, null, System.currentTimeMillis(), true,
-                System.currentTimeMillis());
+        this(username, sessionId, null, null, System.currentTimeMillis());
+    }
+
+    // Canonical session key for tracking (not a bean getter, so it is not
+    // serialized with the record)
+    public SessionKey sessionKey() {
+        return SessionKey.of(username, sessionId);
     }
 
-    // Generate composite key for tracking
+    // Composite key string ("username:sessionId") for shared map signals
     public String getCompositeKey() {
-        return username + ":" + sessionId;
+        return sessionKey().id();
     }
 
     // Helper to create updated instance with new view
     public UserInfo withCurrentView(String newView) {
         return new UserInfo(username, sessionId, newView, nickname,
-                sessionStartTime, isTabActive, lastInteractionTime);
+                sessionStartTime);
     }
 
     // Helper to create updated instance with new nickname
     public UserInfo withNickname(String newNickname) {
         return new UserInfo(username, sessionId, currentView, newNickname,
-                sessionStartTime, isTabActive, lastInteractionTime);
-    }
-
-    // Helper to create updated instance with new tab activity state
-    public UserInfo withTabActive(boolean newTabActive) {
-        return new UserInfo(username, sessionId, currentView, nickname,
-                sessionStartTime, newTabActive, lastInteractionTime);
-    }
-
-    // Helper to create updated instance with new last interaction time
-    public UserInfo withLastInteractionTime(long newLastInteractionTime) {
-        return new UserInfo(username, sessionId, currentView, nickname,
-                sessionStartTime, isTabActive, newLastInteractionTime);
+                sessionStartTime);
     }
 }
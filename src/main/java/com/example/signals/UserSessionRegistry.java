@@ -1,8 +1,17 @@
 package com.example.signals;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.stream.Stream;
+
 import org.springframework.stereotype.Component;
 
 import com.vaadin.signals.shared.SharedListSignal;
+import com.vaadin.signals.shared.SharedValueSignal;
 import com.vaadin.signals.Signal;
 
 /**
@@ -15,47 +24,97 @@ public class UserSessionRegistry {
     private final SharedListSignal<UserInfo> activeUsersSignal = new SharedListSignal<>(
             UserInfo.class);
 
-    // Computed signal for display names with session numbers and nicknames
-    private final Signal<java.util.List<String>> displayNamesSignal = Signal
-            .computed(() -> {
-                var userSignals = activeUsersSignal.value();
+    // Index from session key to the entry in activeUsersSignal, kept in sync
+    // with the list so per-session lookups don't scan all sessions
+    private final Map<SessionKey, SessionEntry> sessionIndex = new ConcurrentHashMap<>();
 
-                // Count sessions per username for auto-naming
-                java.util.Map<String, Integer> sessionCounts = new java.util.HashMap<>();
-                for (var userSignal : userSignals) {
-                    String username = userSignal.value().username();
-                    sessionCounts.merge(username, 1, Integer::sum);
-                }
+    // Serializes registering and unregistering, which update both the index
+    // and activeUsersSignal
+    private final Object membershipLock = new Object();
 
-                // Generate display names
-                java.util.Map<String, Integer> currentSessionNumber = new java.util.HashMap<>();
-                java.util.List<String> displayNames = new java.util.ArrayList<>();
-
-                for (var userSignal : userSignals) {
-                    UserInfo user = userSignal.value();
-
-                    // Check for nickname first
-                    if (user.nickname() != null && !user.nickname().isEmpty()) {
-                        displayNames.add(user.nickname());
-                        continue;
-                    }
-
-                    // Fall back to auto-generated name
-                    String username = user.username();
-                    int sessionNum = currentSessionNumber.merge(username, 1,
-                            (a, b) -> a + 1);
-
-                    String displayName;
-                    if (sessionCounts.get(username) > 1) {
-                        displayName = username + " #" + sessionNum;
-                    } else {
-                        displayName = username;
-                    }
-                    displayNames.add(displayName);
-                }
+    // Changed after every change to sessionIndex, so that the display name
+    // list of all sessions, which already depends on every join and leave,
+    // never reads the index between the two updates. Per-session and
+    // per-route signals do not depend on it.
+    private final SharedValueSignal<Long> membershipVersionSignal = new SharedValueSignal<>(
+            0L);
 
-                return displayNames;
-            });
+    // Sessions of each username in registration order, used to number the
+    // auto-generated display names of that username only
+    private final Map<String, List<SessionEntry>> sessionsByUsername = new ConcurrentHashMap<>();
+
+    /**
+     * Signals of a single session. The activity signal is not part of
+     * activeUsersSignal, so heartbeat writes only notify its own readers. The
+     * display name is cached and only rewritten when it actually changes; it
+     * is set to null when the session is unregistered.
+     */
+    private record SessionEntry(SessionKey key,
+            SharedValueSignal<UserInfo> info,
+            SharedValueSignal<SessionActivity> activity,
+            SharedValueSignal<String> displayName) {
+    }
+
+    // Sessions currently on each route, and the slot each session occupies in
+    // its route's list, so navigation only touches the two routes involved.
+    // A route is removed when its last session leaves it.
+    private final Map<String, RoutePresence> routePresence = new ConcurrentHashMap<>();
+    private final Map<SessionKey, SharedValueSignal<String>> routeSlots = new ConcurrentHashMap<>();
+
+    // Changed when a route is added to or removed from routePresence, so that
+    // per-route signals switch to the route's current bucket. Joins and leaves
+    // of a route that already has sessions do not change it.
+    private final SharedValueSignal<Long> routesVersionSignal = new SharedValueSignal<>(
+            0L);
+
+    /**
+     * Presence bucket of a single route with its cached derived signals, shared
+     * by all displays of that route. The derived signals depend only on the
+     * route's session list and on the signals of the sessions on it.
+     */
+    private static final class RoutePresence {
+        private final SharedListSignal<String> sessionKeys = new SharedListSignal<>(
+                String.class);
+        // Entries by SessionKey id. An entry is added before its id is
+        // inserted to sessionKeys and removed after it is removed from it.
+        private final Map<String, SessionEntry> entries = new ConcurrentHashMap<>();
+
+        private final Signal<List<UserInfo>> usersSignal = Signal
+                .computed(() -> entriesOnRoute()
+                        .map(entry -> entry.info().value()).toList());
+
+        private final Signal<List<String>> displayNamesSignal = Signal
+                .computed(() -> entriesOnRoute()
+                        .map(entry -> entry.displayName().value()).toList());
+
+        private Stream<SessionEntry> entriesOnRoute() {
+            return sessionKeys.value().stream()
+                    .map(slot -> entries.get(slot.value()))
+                    .filter(Objects::nonNull);
+        }
+    }
+
+    // Versioned feed of presence changes for subscribers that apply deltas
+    private final PresenceChangeFeed presenceFeed = new PresenceChangeFeed(
+            1024);
+
+    private final List<SessionActivityListener> activityListeners = new CopyOnWriteArrayList<>();
+
+    /**
+     * Listener notified when a session is registered or its tab visibility
+     * changes. Last interaction updates are not reported; listeners that need
+     * them read {@link #getSessionActivitySignal(String, String)}.
+     */
+    @FunctionalInterface
+    public interface SessionActivityListener {
+        void activityChanged(SessionKey sessionKey, SessionActivity activity);
+    }
+
+    // Display names in the order of activeUsersSignal, assembled from the
+    // cached per-session names
+    private final Signal<List<String>> displayNamesSignal = Signal
+            .computed(() -> activeUsersSignal.value().stream()
+                    .map(this::readDisplayName).toList());
 
     /**
      * Get the signal containing the list of active users.
@@ -64,14 +123,65 @@ public class UserSessionRegistry {
         return activeUsersSignal;
     }
 
+    /**
+     * Get the feed of presence changes (joins, leaves, renames, view changes
+     * and tab activity). Subscribers that keep their own view of the active
+     * users apply its events instead of re-reading
+     * {@link #getActiveUsersSignal()}.
+     */
+    public PresenceChangeFeed getPresenceChangeFeed() {
+        return presenceFeed;
+    }
+
     /**
      * Get the computed signal containing formatted display names with session
      * numbers.
      */
-    public Signal<java.util.List<String>> getDisplayNamesSignal() {
+    public Signal<List<String>> getDisplayNamesSignal() {
         return displayNamesSignal;
     }
 
+    /**
+     * Get a signal containing the display name of a user session, or null
+     * if the session is not registered. The name is the nickname if set,
+     * otherwise the username with a session number when the user has several
+     * sessions. The signal becomes null when the session is unregistered; a
+     * session that registers again under the same key has a new signal.
+     */
+    public Signal<String> getDisplayNameSignal(String username,
+            String sessionId) {
+        return getDisplayNameSignal(SessionKey.of(username, sessionId));
+    }
+
+    /**
+     * Get a signal containing the display name of a user session by its key,
+     * or null if the session is not registered. Depends only on that
+     * session's own name signal.
+     */
+    public Signal<String> getDisplayNameSignal(SessionKey sessionKey) {
+        SessionEntry entry = sessionIndex.get(sessionKey);
+        return entry != null ? entry.displayName()
+                : Signal.<String> computed(() -> null);
+    }
+
+    /**
+     * Get a signal containing the display name of a user session by its
+     * shared map key (see {@link SessionKey#id()}), or null if the session is
+     * not registered.
+     */
+    public Signal<String> getDisplayNameSignal(String sessionKeyId) {
+        return getDisplayNameSignal(SessionKey.fromId(sessionKeyId));
+    }
+
+    /**
+     * Get the current display name of a user session, falling back to the
+     * username if the session is not registered.
+     */
+    public String getDisplayName(String username, String sessionId) {
+        SessionEntry entry = findSession(username, sessionId);
+        return entry != null ? entry.displayName().peek() : username;
+    }
+
     /**
      * Register a user as active with a specific session ID.
      */
@@ -89,13 +199,41 @@ public class UserSessionRegistry {
         }
 
         // Check using composite key
-        String compositeKey = username + ":" + sessionId;
-        boolean exists = activeUsersSignal.value().stream().anyMatch(
-                userSignal -> compositeKey.equals(
-                        userSignal.value().getCompositeKey()));
+        SessionKey sessionKey = SessionKey.intern(username, sessionId);
+        SessionEntry entry = null;
+        synchronized (membershipLock) {
+            if (!sessionIndex.containsKey(sessionKey)) {
+                entry = new SessionEntry(sessionKey,
+                        activeUsersSignal.insertLast(new UserInfo(username,
+                                sessionId, initialRoute, null)).signal(),
+                        new SharedValueSignal<>(new SessionActivity()),
+                        new SharedValueSignal<>(username));
+                sessionIndex.put(sessionKey, entry);
+            }
+        }
 
-        if (!exists) {
-            activeUsersSignal.insertLast(new UserInfo(username, sessionId, initialRoute, null));
+        if (entry != null) {
+            membershipChanged();
+            SessionEntry joined = entry;
+            sessionsByUsername.compute(username, (name, sessions) -> {
+                List<SessionEntry> updated = sessions != null ? sessions
+                        : new ArrayList<>();
+                updated.add(joined);
+                refreshDisplayNames(updated, joined);
+                return updated;
+            });
+            synchronized (entry) {
+                // Skip if unregistered meanwhile, or if updateUserView already
+                // placed the session on its route
+                if (sessionIndex.get(sessionKey) == entry
+                        && !routeSlots.containsKey(sessionKey)) {
+                    moveToRoute(entry, null,
+                            entry.info().value().currentView());
+                }
+            }
+            presenceFeed.publish(PresenceEvent.Type.JOINED, sessionKey,
+                    entry.displayName().value(), initialRoute);
+            fireActivityChanged(sessionKey, entry.activity().value());
         } else if (initialRoute != null) {
             // User already registered, just update the route
             updateUserView(username, sessionId, initialRoute);
@@ -111,18 +249,33 @@ public class UserSessionRegistry {
                     "Username and sessionId cannot be null");
         }
 
-        String compositeKey = username + ":" + sessionId;
-        activeUsersSignal.value().stream()
-                .filter(userSignal -> compositeKey.equals(
-                        userSignal.value().getCompositeKey()))
-                .findFirst().ifPresent(activeUsersSignal::remove);
-    }
-
-    /**
-     * Get count of active users.
-     */
-    public int getActiveUserCount() {
-        return activeUsersSignal.value().size();
+        SessionKey sessionKey = SessionKey.of(username, sessionId);
+        SessionEntry entry;
+        synchronized (membershipLock) {
+            entry = sessionIndex.remove(sessionKey);
+            if (entry != null) {
+                activeUsersSignal.remove(entry.info());
+            }
+        }
+        if (entry != null) {
+            membershipChanged();
+            String lastView;
+            synchronized (entry) {
+                lastView = entry.info().value().currentView();
+                moveToRoute(entry, lastView, null);
+            }
+            SessionKey.release(sessionKey);
+            presenceFeed.publish(PresenceEvent.Type.LEFT, entry.key(),
+                    entry.displayName().value(), lastView);
+            // Display name signals handed out for the session follow it
+            // leaving
+            entry.displayName().value(null);
+            sessionsByUsername.computeIfPresent(username, (name, sessions) -> {
+                sessions.remove(entry);
+                refreshDisplayNames(sessions, null);
+                return sessions.isEmpty() ? null : sessions;
+            });
+        }
     }
 
     /**
@@ -133,8 +286,7 @@ public class UserSessionRegistry {
             throw new IllegalArgumentException("Username cannot be null");
         }
 
-        return activeUsersSignal.value().stream().anyMatch(
-                userSignal -> username.equals(userSignal.value().username()));
+        return sessionsByUsername.containsKey(username);
     }
 
     /**
@@ -146,40 +298,39 @@ public class UserSessionRegistry {
                     "Username and sessionId cannot be null");
         }
 
-        String compositeKey = username + ":" + sessionId;
-        return activeUsersSignal.value().stream().anyMatch(
-                userSignal -> compositeKey.equals(
-                        userSignal.value().getCompositeKey()));
+        return sessionIndex.containsKey(SessionKey.of(username, sessionId));
     }
 
     /**
      * Set a custom nickname for a user session.
      */
     public void setNickname(String username, String sessionId, String nickname) {
-        String compositeKey = username + ":" + sessionId;
         String trimmedNickname = (nickname == null || nickname.trim().isEmpty())
                 ? null
                 : nickname.trim();
 
-        activeUsersSignal.value().stream()
-                .filter(userSignal -> compositeKey.equals(
-                        userSignal.value().getCompositeKey()))
-                .findFirst().ifPresent(userSignal -> {
-                    UserInfo oldInfo = userSignal.value();
-                    userSignal.value(oldInfo.withNickname(trimmedNickname));
-                });
+        SessionEntry entry = findSession(username, sessionId);
+        if (entry != null) {
+            UserInfo oldInfo = entry.info().value();
+            if (!Objects.equals(oldInfo.nickname(), trimmedNickname)) {
+                entry.info().value(oldInfo.withNickname(trimmedNickname));
+                // Nicknamed sessions don't take a session number, so the
+                // other sessions of the same user may need renumbering
+                sessionsByUsername.computeIfPresent(username,
+                        (name, sessions) -> {
+                            refreshDisplayNames(sessions, null);
+                            return sessions;
+                        });
+            }
+        }
     }
 
     /**
      * Get the nickname for a user session, or null if not set.
      */
     public String getNickname(String username, String sessionId) {
-        String compositeKey = username + ":" + sessionId;
-        return activeUsersSignal.value().stream()
-                .filter(userSignal -> compositeKey.equals(
-                        userSignal.value().getCompositeKey()))
-                .findFirst().map(userSignal -> userSignal.value().nickname())
-                .orElse(null);
+        SessionEntry entry = findSession(username, sessionId);
+        return entry != null ? entry.info().value().nickname() : null;
     }
 
     /**
@@ -187,35 +338,50 @@ public class UserSessionRegistry {
      */
     public void updateUserView(String username, String sessionId,
             String viewRoute) {
-        String compositeKey = username + ":" + sessionId;
-
         // Find the user and update their view
-        activeUsersSignal.value().stream()
-                .filter(userSignal -> compositeKey.equals(
-                        userSignal.value().getCompositeKey()))
-                .findFirst().ifPresent(userSignal -> {
-                    UserInfo oldInfo = userSignal.value();
-                    userSignal.value(oldInfo.withCurrentView(viewRoute));
-                });
+        SessionKey sessionKey = SessionKey.of(username, sessionId);
+        SessionEntry entry = sessionIndex.get(sessionKey);
+        if (entry != null) {
+            synchronized (entry) {
+                // unregisterUser removes the entry from the index before it
+                // takes this lock, so a removed session never gets a new slot
+                if (sessionIndex.get(sessionKey) != entry) {
+                    return;
+                }
+                UserInfo oldInfo = entry.info().value();
+                if (!Objects.equals(oldInfo.currentView(), viewRoute)) {
+                    entry.info().value(oldInfo.withCurrentView(viewRoute));
+                    moveToRoute(entry, oldInfo.currentView(), viewRoute);
+                    presenceFeed.publish(PresenceEvent.Type.MOVED_VIEW,
+                            entry.key(), entry.displayName().value(),
+                            viewRoute);
+                }
+            }
+        }
     }
 
     /**
-     * Get a reactive signal of display names for users on a specific view.
+     * Get a reactive signal of display names for users on a specific view. The
+     * names are derived once per route and only change when sessions enter or
+     * leave the route or one of them is renamed.
      */
-    public Signal<java.util.List<String>> getActiveUsersOnView(
-            String viewRoute) {
+    public Signal<List<String>> getActiveUsersOnView(String viewRoute) {
         return Signal.computed(() -> {
-            var allUsers = activeUsersSignal.value();
-            var allDisplayNames = displayNamesSignal.value();
-
-            java.util.List<String> result = new java.util.ArrayList<>();
-            for (int i = 0; i < allUsers.size(); i++) {
-                UserInfo user = allUsers.get(i).value();
-                if (viewRoute.equals(user.currentView())) {
-                    result.add(allDisplayNames.get(i));
-                }
-            }
-            return result;
+            RoutePresence presence = trackedPresence(viewRoute);
+            return presence != null ? presence.displayNamesSignal.value()
+                    : List.of();
+        });
+    }
+
+    /**
+     * Get a reactive signal of the sessions on a specific view, in the order
+     * they arrived there. Derived once per route like
+     * {@link #getActiveUsersOnView(String)}.
+     */
+    public Signal<List<UserInfo>> getUsersOnView(String viewRoute) {
+        return Signal.computed(() -> {
+            RoutePresence presence = trackedPresence(viewRoute);
+            return presence != null ? presence.usersSignal.value() : List.of();
         });
     }
 
@@ -228,15 +394,20 @@ public class UserSessionRegistry {
      */
     public void updateTabActivity(String username, String sessionId,
             boolean isActive) {
-        String compositeKey = username + ":" + sessionId;
-
-        activeUsersSignal.value().stream()
-                .filter(userSignal -> compositeKey.equals(
-                        userSignal.value().getCompositeKey()))
-                .findFirst().ifPresent(userSignal -> {
-                    UserInfo oldInfo = userSignal.value();
-                    userSignal.value(oldInfo.withTabActive(isActive));
-                });
+        SessionEntry entry = findSession(username, sessionId);
+        if (entry != null) {
+            SessionActivity oldActivity = entry.activity().value();
+            if (oldActivity.isTabActive() != isActive) {
+                SessionActivity newActivity = oldActivity.withTabActive(isActive);
+                entry.activity().value(newActivity);
+                presenceFeed.publish(isActive
+                        ? PresenceEvent.Type.BECAME_ACTIVE
+                        : PresenceEvent.Type.WENT_IDLE, entry.key(),
+                        entry.displayName().value(),
+                        entry.info().value().currentView());
+                fireActivityChanged(entry.key(), newActivity);
+            }
+        }
     }
 
     /**
@@ -246,16 +417,168 @@ public class UserSessionRegistry {
      * @param sessionId the session ID
      */
     public void updateLastInteraction(String username, String sessionId) {
-        String compositeKey = username + ":" + sessionId;
-
-        activeUsersSignal.value().stream()
-                .filter(userSignal -> compositeKey.equals(
-                        userSignal.value().getCompositeKey()))
-                .findFirst().ifPresent(userSignal -> {
-                    UserInfo oldInfo = userSignal.value();
-                    userSignal.value(
-                            oldInfo.withLastInteractionTime(System.currentTimeMillis()));
-                });
+        updateLastInteraction(username, sessionId, System.currentTimeMillis());
+    }
+
+    /**
+     * Update the last interaction time for a user session to a time recorded
+     * earlier, e.g. by a batching tracker.
+     *
+     * @param username        the username
+     * @param sessionId       the session ID
+     * @param interactionTime the interaction time in epoch milliseconds
+     * @return true if the session is registered, false otherwise
+     */
+    public boolean updateLastInteraction(String username, String sessionId,
+            long interactionTime) {
+        SessionEntry entry = findSession(username, sessionId);
+        if (entry == null) {
+            return false;
+        }
+        SessionActivity oldActivity = entry.activity().value();
+        if (oldActivity.lastInteractionTime() < interactionTime) {
+            entry.activity()
+                    .value(oldActivity.withLastInteractionTime(interactionTime));
+        }
+        return true;
+    }
+
+    /**
+     * Get the signal holding tab activity and last interaction time for a user
+     * session, or null if the session is not registered. Changes to it do not
+     * affect {@link #getActiveUsersSignal()} or the display name signals.
+     */
+    public Signal<SessionActivity> getSessionActivitySignal(String username,
+            String sessionId) {
+        return getSessionActivitySignal(SessionKey.of(username, sessionId));
+    }
+
+    /**
+     * Get the activity signal of a user session by its key, or null if the
+     * session is not registered.
+     */
+    public Signal<SessionActivity> getSessionActivitySignal(
+            SessionKey sessionKey) {
+        SessionEntry entry = sessionIndex.get(sessionKey);
+        return entry != null ? entry.activity() : null;
+    }
+
+    /**
+     * Recalculate the display names of the sessions of one username. Must be
+     * called while holding the username's slot in sessionsByUsername. Renames
+     * are published to the presence feed, except for a session that is just
+     * joining.
+     */
+    private void refreshDisplayNames(List<SessionEntry> sessions,
+            SessionEntry joining) {
+        int sessionNumber = 0;
+        for (SessionEntry entry : sessions) {
+            UserInfo user = entry.info().value();
+
+            String displayName;
+            if (user.nickname() != null && !user.nickname().isEmpty()) {
+                displayName = user.nickname();
+            } else {
+                sessionNumber++;
+                displayName = sessions.size() > 1
+                        ? user.username() + " #" + sessionNumber
+                        : user.username();
+            }
+
+            if (!displayName.equals(entry.displayName().value())) {
+                entry.displayName().value(displayName);
+                if (entry != joining) {
+                    presenceFeed.publish(PresenceEvent.Type.RENAMED,
+                            entry.key(), displayName, user.currentView());
+                }
+            }
+        }
+    }
+
+    /**
+     * Add a listener for session registration and tab visibility changes.
+     */
+    public void addSessionActivityListener(SessionActivityListener listener) {
+        activityListeners.add(listener);
+    }
+
+    private void fireActivityChanged(SessionKey sessionKey,
+            SessionActivity activity) {
+        for (SessionActivityListener listener : activityListeners) {
+            listener.activityChanged(sessionKey, activity);
+        }
+    }
+
+    // Looks a route up and registers a dependency on routes being added and
+    // removed when called from a computed signal or an effect
+    private RoutePresence trackedPresence(String viewRoute) {
+        routesVersionSignal.value();
+        return routePresence.get(viewRoute);
+    }
+
+    /**
+     * Move a session between route buckets, adding a route with its first
+     * session and removing it with its last. Must be called while holding the
+     * session entry's lock.
+     */
+    private void moveToRoute(SessionEntry entry, String oldRoute,
+            String newRoute) {
+        SessionKey sessionKey = entry.key();
+        boolean routesChanged = false;
+        SharedValueSignal<String> oldSlot = routeSlots.remove(sessionKey);
+        if (oldSlot != null && oldRoute != null) {
+            routesChanged |= routePresence.computeIfPresent(oldRoute,
+                    (route, presence) -> {
+                        presence.sessionKeys.remove(oldSlot);
+                        presence.entries.remove(sessionKey.id());
+                        return presence.entries.isEmpty() ? null : presence;
+                    }) == null;
+        }
+        if (newRoute != null) {
+            boolean[] added = new boolean[1];
+            routePresence.compute(newRoute, (route, presence) -> {
+                RoutePresence target = presence;
+                if (target == null) {
+                    target = new RoutePresence();
+                    added[0] = true;
+                }
+                target.entries.put(sessionKey.id(), entry);
+                routeSlots.put(sessionKey, target.sessionKeys
+                        .insertLast(sessionKey.id()).signal());
+                return target;
+            });
+            routesChanged |= added[0];
+        }
+        if (routesChanged) {
+            synchronized (routesVersionSignal) {
+                routesVersionSignal.value(routesVersionSignal.peek() + 1);
+            }
+        }
+    }
+
+    // Reads the cached display name, tracking only the name signal itself
+    private String readDisplayName(SharedValueSignal<UserInfo> userSignal) {
+        UserInfo user = userSignal.peek();
+        SessionEntry entry = trackedEntry(user.sessionKey());
+        return entry != null ? entry.displayName().value() : user.username();
+    }
+
+    // Looks a session up and registers a dependency on sessions joining and
+    // leaving when called from a computed signal or an effect. Only for
+    // signals over all sessions, which change with every join anyway.
+    private SessionEntry trackedEntry(SessionKey sessionKey) {
+        membershipVersionSignal.value();
+        return sessionIndex.get(sessionKey);
+    }
+
+    private void membershipChanged() {
+        synchronized (membershipVersionSignal) {
+            membershipVersionSignal.value(membershipVersionSignal.peek() + 1);
+        }
+    }
+
+    private SessionEntry findSession(String username, String sessionId) {
+        return sessionIndex.get(SessionKey.of(username, sessionId));
     }
 
 }
@@ -4,7 +4,9 @@ import jakarta.annotation.security.PermitAll;
 
 import java.util.List;
 
+import com.example.MissingAPI;
 import com.example.views.MainLayout;
+import com.vaadin.flow.component.Component;
 import com.vaadin.flow.component.ComponentEffect;
 import com.vaadin.flow.component.button.Button;
 import com.vaadin.flow.component.checkbox.Checkbox;
@@ -21,6 +23,7 @@ import com.vaadin.flow.data.binder.Binder;
 import com.vaadin.flow.router.Menu;
 import com.vaadin.flow.router.PageTitle;
 import com.vaadin.flow.router.Route;
+import com.vaadin.signals.Signal;
 import com.vaadin.signals.local.ValueSignal;
 import com.vaadin.signals.WritableSignal;
 
@@ -64,114 +67,145 @@ public class UseCase02View extends VerticalLayout {
                 VisaApplicationData::setNeedsVisa);
         needsVisaCheckbox.bindValue(needsVisaSignal);
 
-        // Level 1: Visa-related fields (shown when needsVisa is true)
-        VerticalLayout visaSection = new VerticalLayout();
-
-        ComboBox<VisaType> visaTypeSelect = new ComboBox<>("Visa Type",
-                VisaType.values());
-        visaTypeSelect.setValue(VisaType.H1B);
-        binder.forField(visaTypeSelect).bind(VisaApplicationData::getVisaType,
-                VisaApplicationData::setVisaType);
-        visaTypeSelect.bindValue(visaTypeSignal);
-
-        TextField currentVisaStatus = new TextField("Current Visa Status");
-        binder.forField(currentVisaStatus).bind(
-                VisaApplicationData::getCurrentVisaStatus,
-                VisaApplicationData::setCurrentVisaStatus);
+        // Conditional sections are built the first time they are shown, so
+        // the fields of visa types that are never selected are never created
 
-        visaSection.add(visaTypeSelect, currentVisaStatus);
-        visaSection.bindVisible(needsVisaSignal);
+        // Level 1: Visa-related fields (shown when needsVisa is true)
+        Component visaSection = MissingAPI.lazyWhen(needsVisaSignal, () -> {
+            VerticalLayout section = new VerticalLayout();
+
+            ComboBox<VisaType> visaTypeSelect = new ComboBox<>("Visa Type",
+                    VisaType.values());
+            binder.forField(visaTypeSelect).bind(
+                    VisaApplicationData::getVisaType,
+                    VisaApplicationData::setVisaType);
+            visaTypeSelect.bindValue(visaTypeSignal);
+
+            TextField currentVisaStatus = new TextField("Current Visa Status");
+            binder.forField(currentVisaStatus).bind(
+                    VisaApplicationData::getCurrentVisaStatus,
+                    VisaApplicationData::setCurrentVisaStatus);
+
+            section.add(visaTypeSelect, currentVisaStatus);
+            return section;
+        });
 
         // Level 2: H1-B specific fields (shown when visa type is H1B)
-        VerticalLayout h1bSection = new VerticalLayout();
-
-        Checkbox hasH1BPreviouslyCheckbox = new Checkbox(
-                "Have you held an H1-B visa before?");
-        binder.forField(hasH1BPreviouslyCheckbox).bind(
-                VisaApplicationData::getHasH1BPreviously,
-                VisaApplicationData::setHasH1BPreviously);
-        hasH1BPreviouslyCheckbox.bindValue(hasH1BPreviouslySignal);
-
-        TextField h1bSpecialtyOccupation = new TextField(
-                "Specialty Occupation");
-        binder.forField(h1bSpecialtyOccupation).bind(
-                VisaApplicationData::getH1bSpecialtyOccupation,
-                VisaApplicationData::setH1bSpecialtyOccupation);
-
-        h1bSection.add(hasH1BPreviouslyCheckbox, h1bSpecialtyOccupation);
-        h1bSection.bindVisible(() -> needsVisaSignal.value()
-                && visaTypeSignal.value() == VisaType.H1B);
+        Component h1bSection = MissingAPI.lazyWhen(
+                Signal.computed(() -> needsVisaSignal.value()
+                        && visaTypeSignal.value() == VisaType.H1B),
+                () -> {
+                    VerticalLayout section = new VerticalLayout();
+
+                    Checkbox hasH1BPreviouslyCheckbox = new Checkbox(
+                            "Have you held an H1-B visa before?");
+                    binder.forField(hasH1BPreviouslyCheckbox).bind(
+                            VisaApplicationData::getHasH1BPreviously,
+                            VisaApplicationData::setHasH1BPreviously);
+                    hasH1BPreviouslyCheckbox.bindValue(hasH1BPreviouslySignal);
+
+                    TextField h1bSpecialtyOccupation = new TextField(
+                            "Specialty Occupation");
+                    binder.forField(h1bSpecialtyOccupation).bind(
+                            VisaApplicationData::getH1bSpecialtyOccupation,
+                            VisaApplicationData::setH1bSpecialtyOccupation);
+
+                    section.add(hasH1BPreviouslyCheckbox,
+                            h1bSpecialtyOccupation);
+                    return section;
+                });
 
         // Level 3: Previous H1-B details (shown when has H1-B previously)
-        VerticalLayout previousH1BSection = new VerticalLayout();
-
-        TextField previousEmployer = new TextField("Previous Employer");
-        binder.forField(previousEmployer).bind(
-                VisaApplicationData::getPreviousEmployer,
-                VisaApplicationData::setPreviousEmployer);
-
-        TextField previousPetitionNumber = new TextField(
-                "Previous Petition Number");
-        binder.forField(previousPetitionNumber).bind(
-                VisaApplicationData::getPreviousPetitionNumber,
-                VisaApplicationData::setPreviousPetitionNumber);
-
-        TextField previousH1BStartDate = new TextField(
-                "Previous H1-B Start Date");
-        binder.forField(previousH1BStartDate).bind(
-                VisaApplicationData::getPreviousH1BStartDate,
-                VisaApplicationData::setPreviousH1BStartDate);
-
-        previousH1BSection.add(previousEmployer, previousPetitionNumber,
-                previousH1BStartDate);
-        previousH1BSection.bindVisible(() -> needsVisaSignal.value()
-                && visaTypeSignal.value() == VisaType.H1B
-                && hasH1BPreviouslySignal.value());
+        Component previousH1BSection = MissingAPI.lazyWhen(
+                Signal.computed(() -> needsVisaSignal.value()
+                        && visaTypeSignal.value() == VisaType.H1B
+                        && hasH1BPreviouslySignal.value()),
+                () -> {
+                    VerticalLayout section = new VerticalLayout();
+
+                    TextField previousEmployer = new TextField(
+                            "Previous Employer");
+                    binder.forField(previousEmployer).bind(
+                            VisaApplicationData::getPreviousEmployer,
+                            VisaApplicationData::setPreviousEmployer);
+
+                    TextField previousPetitionNumber = new TextField(
+                            "Previous Petition Number");
+                    binder.forField(previousPetitionNumber).bind(
+                            VisaApplicationData::getPreviousPetitionNumber,
+                            VisaApplicationData::setPreviousPetitionNumber);
+
+                    TextField previousH1BStartDate = new TextField(
+                            "Previous H1-B Start Date");
+                    binder.forField(previousH1BStartDate).bind(
+                            VisaApplicationData::getPreviousH1BStartDate,
+                            VisaApplicationData::setPreviousH1BStartDate);
+
+                    section.add(previousEmployer, previousPetitionNumber,
+                            previousH1BStartDate);
+                    return section;
+                });
 
         // Level 2: L1 specific fields (shown when visa type is L1)
-        VerticalLayout l1Section = new VerticalLayout();
-
-        TextField parentCompanyName = new TextField("Parent Company Name");
-        binder.forField(parentCompanyName).bind(
-                VisaApplicationData::getParentCompanyName,
-                VisaApplicationData::setParentCompanyName);
-
-        TextField yearsWithParentCompany = new TextField(
-                "Years with Parent Company");
-        binder.forField(yearsWithParentCompany).bind(
-                VisaApplicationData::getYearsWithParentCompany,
-                VisaApplicationData::setYearsWithParentCompany);
-
-        ComboBox<String> l1Category = new ComboBox<>("L1 Category",
-                List.of("L1-A (Manager)", "L1-B (Specialized Knowledge)"));
-        binder.forField(l1Category).bind(VisaApplicationData::getL1Category,
-                VisaApplicationData::setL1Category);
-
-        l1Section.add(parentCompanyName, yearsWithParentCompany, l1Category);
-        l1Section.bindVisible(() -> needsVisaSignal.value()
-                && visaTypeSignal.value() == VisaType.L1);
+        Component l1Section = MissingAPI.lazyWhen(
+                Signal.computed(() -> needsVisaSignal.value()
+                        && visaTypeSignal.value() == VisaType.L1),
+                () -> {
+                    VerticalLayout section = new VerticalLayout();
+
+                    TextField parentCompanyName = new TextField(
+                            "Parent Company Name");
+                    binder.forField(parentCompanyName).bind(
+                            VisaApplicationData::getParentCompanyName,
+                            VisaApplicationData::setParentCompanyName);
+
+                    TextField yearsWithParentCompany = new TextField(
+                            "Years with Parent Company");
+                    binder.forField(yearsWithParentCompany).bind(
+                            VisaApplicationData::getYearsWithParentCompany,
+                            VisaApplicationData::setYearsWithParentCompany);
+
+                    ComboBox<String> l1Category = new ComboBox<>("L1 Category",
+                            List.of("L1-A (Manager)",
+                                    "L1-B (Specialized Knowledge)"));
+                    binder.forField(l1Category).bind(
+                            VisaApplicationData::getL1Category,
+                            VisaApplicationData::setL1Category);
+
+                    section.add(parentCompanyName, yearsWithParentCompany,
+                            l1Category);
+                    return section;
+                });
 
         // Level 2: O1 specific fields (shown when visa type is O1)
-        VerticalLayout o1Section = new VerticalLayout();
-
-        TextField fieldOfExtraordinaryAbility = new TextField(
-                "Field of Extraordinary Ability");
-        binder.forField(fieldOfExtraordinaryAbility).bind(
-                VisaApplicationData::getFieldOfExtraordinaryAbility,
-                VisaApplicationData::setFieldOfExtraordinaryAbility);
-
-        TextField majorAwards = new TextField("Major Awards/Recognition");
-        binder.forField(majorAwards).bind(VisaApplicationData::getMajorAwards,
-                VisaApplicationData::setMajorAwards);
-
-        TextField publications = new TextField(
-                "Publications or Media Coverage");
-        binder.forField(publications).bind(VisaApplicationData::getPublications,
-                VisaApplicationData::setPublications);
-
-        o1Section.add(fieldOfExtraordinaryAbility, majorAwards, publications);
-        o1Section.bindVisible(() -> needsVisaSignal.value()
-                && visaTypeSignal.value() == VisaType.O1);
+        Component o1Section = MissingAPI.lazyWhen(
+                Signal.computed(() -> needsVisaSignal.value()
+                        && visaTypeSignal.value() == VisaType.O1),
+                () -> {
+                    VerticalLayout section = new VerticalLayout();
+
+                    TextField fieldOfExtraordinaryAbility = new TextField(
+                            "Field of Extraordinary Ability");
+                    binder.forField(fieldOfExtraordinaryAbility).bind(
+                            VisaApplicationData::getFieldOfExtraordinaryAbility,
+                            VisaApplicationData::setFieldOfExtraordinaryAbility);
+
+                    TextField majorAwards = new TextField(
+                            "Major Awards/Recognition");
+                    binder.forField(majorAwards).bind(
+                            VisaApplicationData::getMajorAwards,
+                            VisaApplicationData::setMajorAwards);
+
+                    TextField publications = new TextField(
+                            "Publications or Media Coverage");
+                    binder.forField(publications).bind(
+                            VisaApplicationData::getPublications,
+                            VisaApplicationData::setPublications);
+
+                    section.add(fieldOfExtraordinaryAbility, majorAwards,
+                            publications);
+                    return section;
+                });
 
         // Display area for collected values
         Div resultDisplay = new Div();
@@ -2,6 +2,7 @@ package com.example.usecase03;
 
 import jakarta.annotation.security.PermitAll;
 
+import com.example.MissingAPI;
 import com.example.components.Slider;
 import com.example.views.MainLayout;
 import com.vaadin.flow.component.button.Button;
@@ -32,6 +33,9 @@ import com.vaadin.flow.component.ComponentEffect;
 @PermitAll
 public class UseCase03View extends VerticalLayout {
 
+    // Maximum rate of shape updates while dragging a slider
+    private static final int SLIDER_UPDATES_PER_SECOND = 30;
+
     // Rectangle signals (green) - top left position
     private final WritableSignal<Integer> rectXSignal = new ValueSignal<>(100);
     private final WritableSignal<Integer> rectYSignal = new ValueSignal<>(50);
@@ -225,10 +229,17 @@ public class UseCase03View extends VerticalLayout {
         Element rect = new Element("rect");
 
         // Bind basic attributes
-        rect.bindAttribute("x", rectXSignal.map(String::valueOf));
-        rect.bindAttribute("y", rectYSignal.map(String::valueOf));
-        rect.bindAttribute("width", rectWidthSignal.map(String::valueOf));
-        rect.bindAttribute("height", rectHeightSignal.map(String::valueOf));
+        // Position and size follow the sliders at a capped rate
+        MissingAPI.bindAttribute(this, rect, "x",
+                rectXSignal.map(String::valueOf), SLIDER_UPDATES_PER_SECOND);
+        MissingAPI.bindAttribute(this, rect, "y",
+                rectYSignal.map(String::valueOf), SLIDER_UPDATES_PER_SECOND);
+        MissingAPI.bindAttribute(this, rect, "width",
+                rectWidthSignal.map(String::valueOf),
+                SLIDER_UPDATES_PER_SECOND);
+        MissingAPI.bindAttribute(this, rect, "height",
+                rectHeightSignal.map(String::valueOf),
+                SLIDER_UPDATES_PER_SECOND);
         rect.bindAttribute("rx", rectCornerRadiusSignal.map(String::valueOf));
         rect.bindAttribute("fill", rectFillSignal);
         rect.bindAttribute("stroke", rectStrokeSignal);
@@ -47,20 +47,19 @@ public class UseCase04View extends VerticalLayout {
         // Load all products
         List<Product> allProducts = loadProducts();
 
-        // Computed signal for filtered products
-        Signal<List<Product>> filteredProductsSignal = () -> {
-            String category = categoryFilterSignal.value();
-            String searchTerm = searchTermSignal.value().toLowerCase();
-            boolean inStockOnly = inStockOnlySignal.value();
-
-            return allProducts.stream()
-                    .filter(p -> category.equals("All")
-                            || p.category().equals(category))
-                    .filter(p -> searchTerm.isEmpty()
-                            || p.name().toLowerCase().contains(searchTerm)
-                            || p.id().toLowerCase().contains(searchTerm))
-                    .filter(p -> !inStockOnly || p.stock() > 0).toList();
-        };
+        // Memoized filtered products. Each filter caches its result, so a
+        // narrowing search only filters the previous matches and a category
+        // change picks a precomputed partition.
+        Signal<List<Product>> filteredProductsSignal = MissingAPI
+                .filteredList(allProducts)
+                .partitionBy(Product::category, categoryFilterSignal, "All")
+                .search(searchTermSignal.map(String::toLowerCase),
+                        (p, searchTerm) -> p.name().toLowerCase()
+                                .contains(searchTerm)
+                                || p.id().toLowerCase().contains(searchTerm))
+                .filter(inStockOnlySignal,
+                        (p, inStockOnly) -> !inStockOnly || p.stock() > 0)
+                .build();
 
         // Filter UI components
         ComboBox<String> categoryFilter = new ComboBox<>("Category", List.of(
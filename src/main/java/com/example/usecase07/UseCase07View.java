@@ -3,11 +3,16 @@ package com.example.usecase07;
 import jakarta.annotation.security.PermitAll;
 
 import java.math.BigDecimal;
+import java.time.Duration;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
+import com.example.EffectScope;
+import com.example.MissingAPI;
+import com.example.usecase14.LoadingState;
 import com.example.views.MainLayout;
 import com.vaadin.flow.component.Component;
-import com.vaadin.flow.component.ComponentEffect;
+import com.vaadin.flow.component.AttachEvent;
 import com.vaadin.flow.component.Focusable;
 import com.vaadin.flow.component.button.Button;
 import com.vaadin.flow.component.datepicker.DatePicker;
@@ -54,7 +59,14 @@ public class UseCase07View extends VerticalLayout {
     private final SharedListSignal<LineItem> lineItemsSignal = new SharedListSignal<>(
             LineItem.class);
 
+    // How often the live effect counts are refreshed while attached
+    private static final Duration EFFECT_STATS_INTERVAL = Duration
+            .ofSeconds(2);
+
     private Grid<Invoice> invoiceGrid;
+    private Grid<LineItem> lineItemsGrid;
+    private final ValueSignal<String> effectStatsSignal = new ValueSignal<>(
+            "");
 
     public UseCase07View(InvoiceService invoiceService) {
         this.invoiceService = invoiceService;
@@ -80,28 +92,34 @@ public class UseCase07View extends VerticalLayout {
         WritableSignal<LineItem> selectedLineItemSignal = new ValueSignal<>(
                 InvoiceService.EMPTY_LINEITEM);
 
-        // Computed signal for invoice details
-        Signal<InvoiceDetails> invoiceDetailsSignal = Signal.computed(() -> {
-            Invoice selected = selectedInvoiceSignal.value();
-            return (selected != null && !selected.getId().isEmpty())
-                    ? invoiceService.fetchInvoiceDetails(selected.getId())
-                    : EMPTY_DETAILS;
-        });
+        // Invoice details are fetched without holding the session lock; a new
+        // selection cancels a fetch that is still running. The previous
+        // details stay visible while loading.
+        Signal<LoadingState<InvoiceDetails>> invoiceDetailsStateSignal = MissingAPI
+                .asyncComputed(this, () -> {
+                    Invoice selected = selectedInvoiceSignal.value();
+                    return (selected != null && !selected.getId().isEmpty())
+                            ? CompletableFuture.supplyAsync(
+                                    () -> invoiceService.fetchInvoiceDetails(
+                                            selected.getId()))
+                            : CompletableFuture.completedFuture(EMPTY_DETAILS);
+                });
+        Signal<InvoiceDetails> invoiceDetailsSignal = invoiceDetailsStateSignal
+                .map(state -> state.getData() != null ? state.getData()
+                        : EMPTY_DETAILS);
 
         // Master: Invoice grid
         invoiceGrid = new Grid<>(Invoice.class);
         invoiceGrid.setColumns("id", "customerName", "dueDate", "total",
                 "status");
-        ComponentEffect.bind(invoiceGrid, invoiceListSignal, (grid, items) -> {
-            var invoices = invoiceListSignal.value().stream()
-                    .map(SharedValueSignal::peek).toList();
-            if (items != null) {
-                grid.setItems(invoices);
-            } else {
-                grid.setItems(List.of());
-            }
-            invoiceListSignal.value().forEach(signal -> ComponentEffect
-                    .bind(invoiceGrid, signal, (g, inv) -> {
+        // The per-row effects belong to the scope of the list effect, so the
+        // ones from the previous list are disposed when the list changes
+        EffectScope.effect(invoiceGrid, scope -> {
+            var signals = invoiceListSignal.value();
+            invoiceGrid.setItems(
+                    signals.stream().map(SharedValueSignal::peek).toList());
+            signals.forEach(signal -> scope.bind(invoiceGrid, signal,
+                    (g, inv) -> {
                         g.getDataProvider().refreshItem(inv);
                     }));
         });
@@ -136,7 +154,7 @@ public class UseCase07View extends VerticalLayout {
                 Invoice::setCustomerName);
         invoiceBinder.forField(dueDate).bind(Invoice::getDueDate,
                 Invoice::setDueDate);
-        ComponentEffect.effect(this, () -> invoiceBinder
+        EffectScope.trackedEffect(this, () -> invoiceBinder
                 .setBean(invoiceDetailsSignal.value().getInvoice()));
         invoiceBinder.addValueChangeListener(event -> {
             var status = invoiceBinder.validate();
@@ -160,7 +178,7 @@ public class UseCase07View extends VerticalLayout {
         detailsBinder.forField(customerAddress).bind(
                 InvoiceDetails::getCustomerAddress,
                 InvoiceDetails::setCustomerAddress);
-        ComponentEffect.effect(this,
+        EffectScope.trackedEffect(this,
                 () -> detailsBinder.setBean(invoiceDetailsSignal.value()));
         detailsBinder.addValueChangeListener(event -> {
             var status = detailsBinder.validate();
@@ -173,7 +191,7 @@ public class UseCase07View extends VerticalLayout {
         });
 
         // Line items grid
-        Grid<LineItem> lineItemsGrid = new Grid<>(LineItem.class);
+        lineItemsGrid = new Grid<>(LineItem.class);
         lineItemsGrid.setHeightFull();
         lineItemsGrid.setAllRowsVisible(true);
         lineItemsGrid.setSelectionMode(Grid.SelectionMode.NONE);
@@ -190,17 +208,13 @@ public class UseCase07View extends VerticalLayout {
             return button;
         });
 
-        ComponentEffect.bind(lineItemsGrid, lineItemsSignal, (grid, items) -> {
-            var lineItems = lineItemsSignal.value().stream()
-                    .map(SharedValueSignal::peek).toList();
-            if (items != null) {
-                grid.setItems(lineItems);
-            } else {
-                grid.setItems(List.of());
-            }
+        EffectScope.effect(lineItemsGrid, scope -> {
+            var signals = lineItemsSignal.value();
+            lineItemsGrid.setItems(
+                    signals.stream().map(SharedValueSignal::peek).toList());
             updateFooterTotal(lineItemsGrid);
-            lineItemsSignal.value().forEach(signal -> ComponentEffect
-                    .bind(lineItemsGrid, signal, (g, inv) -> {
+            signals.forEach(signal -> scope.bind(lineItemsGrid, signal,
+                    (g, inv) -> {
                         // refresh the item in the grid
                         g.getDataProvider().refreshItem(inv);
                         // update footer total
@@ -208,7 +222,7 @@ public class UseCase07View extends VerticalLayout {
                     }));
         });
 
-        ComponentEffect.effect(lineItemsGrid, () -> {
+        EffectScope.trackedEffect(lineItemsGrid, () -> {
             List<LineItem> items = invoiceDetailsSignal.value().getLineItems();
             lineItemsSignal.clear();
             items.forEach(lineItemsSignal::insertLast);
@@ -236,7 +250,7 @@ public class UseCase07View extends VerticalLayout {
         lineItemBinder.forField(unitPriceField).bind(LineItem::getUnitPrice,
                 LineItem::setUnitPrice);
 
-        ComponentEffect.effect(this,
+        EffectScope.trackedEffect(this,
                 () -> lineItemBinder.setBean(selectedLineItemSignal.value()));
         lineItemBinder.addValueChangeListener(event -> {
             var status = lineItemBinder.validate();
@@ -295,12 +309,27 @@ public class UseCase07View extends VerticalLayout {
         Button addInvoiceButton = new Button("New Invoice",
                 e -> addNewInvoice());
 
+        Span detailsStatus = new Span(invoiceDetailsStateSignal.map(state -> {
+            if (state.isLoading()) {
+                return "Loading invoice details...";
+            }
+            return state.isError()
+                    ? "Could not load invoice details: " + state.getError()
+                    : "";
+        }));
+
+        // Number of live effects, which stays the same while the grids are
+        // edited because the row effects of earlier lists are disposed
+        Span effectStats = new Span(effectStatsSignal);
+        effectStats.getStyle().set("font-size", "var(--lumo-font-size-s)")
+                .set("color", "var(--lumo-secondary-text-color)");
+
         // Layout
         VerticalLayout mainLayout = new VerticalLayout();
         HorizontalLayout contentLayout = new HorizontalLayout(invoiceGrid,
                 detailsPanel);
         contentLayout.setWidthFull();
-        mainLayout.add(addInvoiceButton);
+        mainLayout.add(addInvoiceButton, detailsStatus, effectStats);
         mainLayout.addAndExpand(contentLayout);
         invoiceGrid.setWidth("60%");
         detailsPanel.setWidth("50%");
@@ -308,6 +337,23 @@ public class UseCase07View extends VerticalLayout {
         add(title, description, mainLayout);
     }
 
+    @Override
+    protected void onAttach(AttachEvent attachEvent) {
+        super.onAttach(attachEvent);
+        refreshEffectStats();
+    }
+
+    private void refreshEffectStats() {
+        effectStatsSignal.value(String.format(
+                "Live effects: %d for the invoice grid, %d for the line items grid, %d in the application",
+                EffectScope.getLiveEffectCount(invoiceGrid),
+                EffectScope.getLiveEffectCount(lineItemsGrid),
+                EffectScope.getLiveEffectCount()));
+        // Cancelled on detach and started again on the next attach
+        MissingAPI.schedule(this, EFFECT_STATS_INTERVAL,
+                this::refreshEffectStats);
+    }
+
     private void updateInvoiceListSignalItem(Invoice invoice) {
         invoiceListSignal.peek().stream()
                 .filter(signal -> signal.peek().getId().equals(invoice.getId()))
@@ -1,8 +1,11 @@
 package com.example.usecase08;
 
+import java.time.Duration;
 import java.util.List;
+import com.example.MissingAPI;
 import com.example.views.MainLayout;
 import jakarta.annotation.security.PermitAll;
+import com.vaadin.flow.component.Component;
 import com.vaadin.flow.component.button.Button;
 import com.vaadin.flow.component.combobox.ComboBox;
 import com.vaadin.flow.component.html.Div;
@@ -29,6 +32,8 @@ import com.vaadin.signals.function.SignalMapper;
 @PermitAll
 public class UseCase08View extends VerticalLayout {
 
+    private static final Duration REVIEW_DISPOSE_DELAY = Duration.ofSeconds(30);
+
     public UseCase08View() {
         setSpacing(true);
         setPadding(true);
@@ -115,22 +120,27 @@ public class UseCase08View extends VerticalLayout {
         step3Layout.bindVisible(
                 currentStepSignal.map(step -> step == Step.PLAN_SELECTION));
 
-        // Step 4: Review
-        VerticalLayout step4Layout = new VerticalLayout();
-        step4Layout.add(new H3("Step 4: Review Your Information"));
-
-        Div reviewDiv = new Div();
-        reviewDiv.bindText(Signal.computed(() -> "Name: "
-                + firstNameSignal.value() + " " + lastNameSignal.value() + "\n"
-                + "Email: " + emailSignal.value() + "\n" + "Company: "
-                + companyNameSignal.value() + "\n" + "Size: "
-                + companySizeSignal.value() + "\n" + "Industry: "
-                + industrySignal.value() + "\n" + "Plan: "
-                + planSignal.value()));
-
-        step4Layout.add(reviewDiv);
-        step4Layout.bindVisible(
-                currentStepSignal.map(step -> step == Step.REVIEW));
+        // Step 4: Review. Built only when the review step is reached and
+        // disposed again after it has been left for a while, so the summary
+        // effect does not follow every keystroke in the earlier steps
+        Component step4Layout = MissingAPI.lazyWhen(
+                currentStepSignal.map(step -> step == Step.REVIEW), () -> {
+                    VerticalLayout layout = new VerticalLayout();
+                    layout.add(new H3("Step 4: Review Your Information"));
+
+                    Div reviewDiv = new Div();
+                    reviewDiv.bindText(Signal.computed(() -> "Name: "
+                            + firstNameSignal.value() + " "
+                            + lastNameSignal.value() + "\n" + "Email: "
+                            + emailSignal.value() + "\n" + "Company: "
+                            + companyNameSignal.value() + "\n" + "Size: "
+                            + companySizeSignal.value() + "\n" + "Industry: "
+                            + industrySignal.value() + "\n" + "Plan: "
+                            + planSignal.value()));
+
+                    layout.add(reviewDiv);
+                    return layout;
+                }, REVIEW_DISPOSE_DELAY);
 
         Signal<Boolean> step1ValidSignal = Signal.computed(() -> {
             boolean firstNameValid = firstNameSignal.map(isValid(firstNameField)).value();
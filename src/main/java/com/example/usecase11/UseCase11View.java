@@ -1,6 +1,7 @@
 package com.example.usecase11;
 
 import com.example.views.MainLayout;
+import com.example.MissingAPI;
 
 import jakarta.annotation.security.PermitAll;
 
@@ -40,6 +41,9 @@ import com.vaadin.signals.WritableSignal;
 @PermitAll
 public class UseCase11View extends VerticalLayout {
 
+    // Maximum rate of size text updates while resizing
+    private static final int SIZE_UPDATES_PER_SECOND = 10;
+
     public static class ContainerSize {
         private final int width;
         private final int height;
@@ -151,12 +155,13 @@ public class UseCase11View extends VerticalLayout {
         Paragraph widthPara = new Paragraph();
         widthPara.getStyle().set("font-family", "monospace").set("margin", "0.25em 0");
         Signal<String> widthText = containerSizeSignal.map(size -> "Width: " + size.getWidth() + "px");
-        widthPara.bindText(widthText);
+        // Resizing fires many events, the texts follow at a capped rate
+        MissingAPI.bindText(widthPara, widthText, SIZE_UPDATES_PER_SECOND);
 
         Paragraph heightPara = new Paragraph();
         heightPara.getStyle().set("font-family", "monospace").set("margin", "0.25em 0");
         Signal<String> heightText = containerSizeSignal.map(size -> "Height: " + size.getHeight() + "px");
-        heightPara.bindText(heightText);
+        MissingAPI.bindText(heightPara, heightText, SIZE_UPDATES_PER_SECOND);
 
         Paragraph breakpointPara = new Paragraph();
         breakpointPara.getStyle().set("font-weight", "bold").set("margin", "0.5em 0 0 0");
@@ -4,16 +4,18 @@ import com.example.views.MainLayout;
 
 import jakarta.annotation.security.PermitAll;
 
-import java.util.ArrayList;
+import java.time.Duration;
 import java.util.HashMap;
-import java.util.List;
 import java.util.Map;
 
 import com.example.MissingAPI;
+import com.example.listeners.UserInteractionTracker;
+import com.example.signals.SessionActivity;
 import com.example.signals.SessionIdHelper;
 import com.example.signals.UserInfo;
 import com.example.signals.UserSessionRegistry;
 
+import com.vaadin.flow.component.AttachEvent;
 import com.vaadin.flow.component.html.Div;
 import com.vaadin.flow.component.html.H2;
 import com.vaadin.flow.component.html.H3;
@@ -28,6 +30,7 @@ import com.vaadin.flow.router.PageTitle;
 import com.vaadin.flow.router.Route;
 import com.vaadin.flow.server.menu.MenuConfiguration;
 import com.vaadin.signals.Signal;
+import com.vaadin.signals.local.ValueSignal;
 
 /**
  * Use Case 13: Real-Time Active Users Tracking
@@ -48,10 +51,17 @@ import com.vaadin.signals.Signal;
 @PermitAll
 public class UseCase13View extends VerticalLayout {
 
+    // How often the relative times ("Online for", "Last active") are updated
+    private static final Duration CLOCK_TICK = Duration.ofSeconds(5);
+
     private final UserSessionRegistry userSessionRegistry;
     private final Map<String, String> routeToTitleMap;
+    // Current time, updated every CLOCK_TICK while attached
+    private final ValueSignal<Long> clockSignal = new ValueSignal<>(
+            System.currentTimeMillis());
 
-    public UseCase13View(UserSessionRegistry userSessionRegistry) {
+    public UseCase13View(UserSessionRegistry userSessionRegistry,
+            UserInteractionTracker userInteractionTracker) {
         this.userSessionRegistry = userSessionRegistry;
 
         // Cache route-to-title mappings from MenuConfiguration
@@ -99,7 +109,19 @@ public class UseCase13View extends VerticalLayout {
         ));
         counterTitle.getStyle().set("margin", "0");
 
-        counterBox.add(counterTitle);
+        // Interaction tracking statistics, refreshed with the clock
+        Span trackerStats = new Span(clockSignal.map(now -> String.format(
+                "%d interactions recorded, %d registry writes (%d coalesced), "
+                        + "%d dropped after leaving, %d sessions registered again after idling",
+                userInteractionTracker.getRecordedInteractionCount(),
+                userInteractionTracker.getFlushedWriteCount(),
+                userInteractionTracker.getCoalescedWriteCount(),
+                userInteractionTracker.getDroppedEntryCount(),
+                userInteractionTracker.getReregisteredSessionCount())));
+        trackerStats.getStyle().set("font-size", "var(--lumo-font-size-s)")
+                .set("color", "var(--lumo-secondary-text-color)");
+
+        counterBox.add(counterTitle, trackerStats);
 
         // User list container
         H3 userListTitle = new H3("Active Users");
@@ -115,19 +137,14 @@ public class UseCase13View extends VerticalLayout {
         String currentSessionId = SessionIdHelper.getCurrentSessionId();
 
         // Reactively bind children to active users list
-        MissingAPI.bindChildren(userListContainer, Signal.computed(() -> {
-            List<com.vaadin.signals.shared.SharedValueSignal<UserInfo>> userSignals =
-                    userSessionRegistry.getActiveUsersSignal().value();
-            List<Card> userCards = new ArrayList<>();
-
-            for (var userSignal : userSignals) {
-                UserInfo user = userSignal.value();
-                Card userCard = createUserCard(user, currentSessionId);
-                userCards.add(userCard);
-            }
-
-            return userCards;
-        }));
+        // Cards are keyed by session, so only the cards of sessions that
+        // joined, left or changed are rebuilt
+        MissingAPI.bindChildren(userListContainer, Signal.computed(
+                () -> userSessionRegistry.getActiveUsersSignal().value()
+                        .stream().map(userSignal -> userSignal.value())
+                        .toList()),
+                UserInfo::sessionKey,
+                user -> createUserCard(user, currentSessionId));
 
         // Educational info box
         Div infoBox = new Div();
@@ -150,6 +167,7 @@ public class UseCase13View extends VerticalLayout {
                 new Paragraph("• Automatically updates when users join/leave without polling"),
                 new Paragraph("• Tab visibility tracked using Page Visibility API (🟢 = active, ⚫ = inactive)"),
                 new Paragraph("• Last interaction time shows when user last sent a server event"),
+                new Paragraph("• Server events are batched, so a burst of events becomes at most one registry write per second"),
                 new Paragraph("• Each user session is tracked with unique ID (vaadinSessionId:uiId)"),
                 new Paragraph("• Try opening multiple browser tabs with different users and switching tabs!")
         );
@@ -163,7 +181,15 @@ public class UseCase13View extends VerticalLayout {
         Card card = new Card();
 
         boolean isCurrentSession = userInfo.sessionId().equals(currentSessionId);
-        boolean isTabActive = userInfo.isTabActive();
+
+        // Activity is a separate signal so heartbeats only update the parts
+        // of the card that show it instead of rebuilding the whole list
+        Signal<SessionActivity> registeredActivitySignal = userSessionRegistry
+                .getSessionActivitySignal(userInfo.username(),
+                        userInfo.sessionId());
+        Signal<SessionActivity> activitySignal = registeredActivitySignal != null
+                ? registeredActivitySignal
+                : new ValueSignal<>(new SessionActivity());
 
         // Highlight current user's session
         if (isCurrentSession) {
@@ -173,11 +199,10 @@ public class UseCase13View extends VerticalLayout {
         }
 
         // Dim inactive tabs
-        if (!isTabActive) {
-            card.getStyle()
-                    .set("opacity", "0.6")
-                    .set("filter", "grayscale(30%)");
-        }
+        card.getStyle().bind("opacity", activitySignal
+                .map(activity -> activity.isTabActive() ? "1" : "0.6"));
+        card.getStyle().bind("filter", activitySignal.map(
+                activity -> activity.isTabActive() ? "none" : "grayscale(30%)"));
 
         // Header: Tab Status + Avatar + Username/Nickname + Role Badge
         HorizontalLayout header = new HorizontalLayout();
@@ -185,9 +210,12 @@ public class UseCase13View extends VerticalLayout {
         header.setSpacing(true);
 
         // Tab activity indicator
-        Span tabIndicator = new Span(isTabActive ? "🟢" : "⚫");
-        tabIndicator.getElement().setAttribute("title",
-                isTabActive ? "Tab is active" : "Tab is inactive");
+        Span tabIndicator = new Span(activitySignal
+                .map(activity -> activity.isTabActive() ? "🟢" : "⚫"));
+        tabIndicator.getElement().bindProperty("title",
+                activitySignal.map(activity -> activity.isTabActive()
+                        ? "Tab is active"
+                        : "Tab is inactive"));
         tabIndicator.getStyle().set("flex-shrink", "0");
 
         // Avatar (using first letter of username)
@@ -204,39 +232,10 @@ public class UseCase13View extends VerticalLayout {
                 .set("font-weight", "bold")
                 .set("flex-shrink", "0");
 
-        // Display name with nickname if available
-        String displayName = userInfo.nickname() != null && !userInfo.nickname().isEmpty()
-                ? userInfo.username() + " (" + userInfo.nickname() + ")"
-                : userInfo.username();
-
-        // Add session number if multiple sessions for same user
-        long sessionCount = userSessionRegistry.getActiveUsersSignal().value().stream()
-                .filter(us -> us.value().username().equals(userInfo.username()))
-                .count();
-
-        if (sessionCount > 1) {
-            // Find this session's number
-            long sessionNumber = 0;
-            for (var us : userSessionRegistry.getActiveUsersSignal().value()) {
-                UserInfo u = us.value();
-                if (u.username().equals(userInfo.username())) {
-                    sessionNumber++;
-                    if (u.sessionId().equals(userInfo.sessionId())) {
-                        break;
-                    }
-                }
-            }
-            displayName = userInfo.username() + " #" + sessionNumber;
-            if (userInfo.nickname() != null && !userInfo.nickname().isEmpty()) {
-                displayName += " (" + userInfo.nickname() + ")";
-            }
-        }
-
-        if (isCurrentSession) {
-            displayName += " (YOU)";
-        }
-
-        Span nameSpan = new Span(displayName);
+        // The session number depends on the other sessions of the user, so
+        // the name follows the user list instead of being fixed at creation
+        Span nameSpan = new Span(Signal.computed(
+                () -> formatDisplayName(userInfo, isCurrentSession)));
         nameSpan.getStyle().set("font-weight", "bold").set("flex-grow", "1");
 
         // Role badge
@@ -269,9 +268,8 @@ public class UseCase13View extends VerticalLayout {
         durationRow.getStyle().set("gap", "0.5em");
 
         Span durationIcon = new Span("🕐");
-        long sessionDuration = System.currentTimeMillis() - userInfo.sessionStartTime();
-        String durationText = formatDuration(sessionDuration);
-        Span durationTextSpan = new Span("Online for " + durationText);
+        Span durationTextSpan = new Span(clockSignal.map(now -> "Online for "
+                + formatDuration(now - userInfo.sessionStartTime())));
         durationTextSpan.getStyle()
                 .set("font-size", "var(--lumo-font-size-s)")
                 .set("color", "var(--lumo-secondary-text-color)");
@@ -285,11 +283,13 @@ public class UseCase13View extends VerticalLayout {
         interactionRow.getStyle().set("gap", "0.5em");
 
         Span interactionIcon = new Span("⚡");
-        long timeSinceInteraction = System.currentTimeMillis() - userInfo.lastInteractionTime();
-        String interactionText = timeSinceInteraction < 5000
-                ? "Just now"
-                : "Last active " + formatDuration(timeSinceInteraction) + " ago";
-        Span interactionTextSpan = new Span(interactionText);
+        Span interactionTextSpan = new Span(Signal.computed(() -> {
+            long timeSinceInteraction = clockSignal.value()
+                    - activitySignal.value().lastInteractionTime();
+            return timeSinceInteraction < 5000
+                    ? "Just now"
+                    : "Last active " + formatDuration(timeSinceInteraction) + " ago";
+        }));
         interactionTextSpan.getStyle()
                 .set("font-size", "var(--lumo-font-size-s)")
                 .set("color", "var(--lumo-secondary-text-color)");
@@ -302,6 +302,58 @@ public class UseCase13View extends VerticalLayout {
         return card;
     }
 
+    @Override
+    protected void onAttach(AttachEvent attachEvent) {
+        super.onAttach(attachEvent);
+        clockSignal.value(System.currentTimeMillis());
+        scheduleClockTick();
+    }
+
+    private void scheduleClockTick() {
+        // Cancelled on detach and started again on the next attach
+        MissingAPI.schedule(this, CLOCK_TICK, () -> {
+            clockSignal.value(System.currentTimeMillis());
+            scheduleClockTick();
+        });
+    }
+
+    private String formatDisplayName(UserInfo userInfo,
+            boolean isCurrentSession) {
+        // Display name with nickname if available
+        String displayName = userInfo.nickname() != null && !userInfo.nickname().isEmpty()
+                ? userInfo.username() + " (" + userInfo.nickname() + ")"
+                : userInfo.username();
+
+        // Add session number if multiple sessions for same user
+        long sessionCount = userSessionRegistry.getActiveUsersSignal().value().stream()
+                .filter(us -> us.value().username().equals(userInfo.username()))
+                .count();
+
+        if (sessionCount > 1) {
+            // Find this session's number
+            long sessionNumber = 0;
+            for (var us : userSessionRegistry.getActiveUsersSignal().value()) {
+                UserInfo u = us.value();
+                if (u.username().equals(userInfo.username())) {
+                    sessionNumber++;
+                    if (u.sessionId().equals(userInfo.sessionId())) {
+                        break;
+                    }
+                }
+            }
+            displayName = userInfo.username() + " #" + sessionNumber;
+            if (userInfo.nickname() != null && !userInfo.nickname().isEmpty()) {
+                displayName += " (" + userInfo.nickname() + ")";
+            }
+        }
+
+        if (isCurrentSession) {
+            displayName += " (YOU)";
+        }
+
+        return displayName;
+    }
+
     private String getColorForUser(String username) {
         // Deterministic color based on username
         int hash = username.hashCode();
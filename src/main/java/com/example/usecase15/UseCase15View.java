@@ -4,16 +4,15 @@ import com.example.views.MainLayout;
 
 import jakarta.annotation.security.PermitAll;
 
+import java.time.Duration;
 import java.util.List;
-import java.util.Timer;
-import java.util.TimerTask;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.atomic.AtomicReference;
 import java.util.stream.Collectors;
 
 import com.example.MissingAPI;
 
-import com.vaadin.flow.component.AttachEvent;
+import com.vaadin.flow.component.ComponentEffect;
 import com.vaadin.flow.component.DetachEvent;
 import com.vaadin.flow.component.html.Div;
 import com.vaadin.flow.component.html.H2;
@@ -77,8 +76,8 @@ public class UseCase15View extends VerticalLayout {
 
     private final WritableSignal<String> searchQuerySignal = new ValueSignal<>(
             "");
-    private final WritableSignal<String> debouncedQuerySignal = new ValueSignal<>(
-            "");
+    private final Signal<String> debouncedQuerySignal = MissingAPI
+            .debounce(this, searchQuerySignal, Duration.ofMillis(300));
     private final WritableSignal<Boolean> isSearchingSignal = new ValueSignal<>(
             false);
     private final WritableSignal<List<Product>> searchResultsSignal = new ValueSignal<>(
@@ -86,7 +85,6 @@ public class UseCase15View extends VerticalLayout {
     private final WritableSignal<Integer> searchCountSignal = new ValueSignal<>(
             0);
 
-    private Timer debounceTimer;
     private final AtomicReference<CompletableFuture<Void>> currentSearch = new AtomicReference<>();
 
     public UseCase15View() {
@@ -240,42 +238,15 @@ public class UseCase15View extends VerticalLayout {
 
         add(title, description, searchField, statsBox, statusBox, resultsTitle,
                 resultsContainer, infoBox);
-    }
 
-    @Override
-    protected void onAttach(AttachEvent attachEvent) {
-        super.onAttach(attachEvent);
-
-        // Set up debouncing: when searchQuerySignal changes, schedule debounced
-        // update
-        // This is done manually here; in real API would be:
-        // searchQuerySignal.debounce(300ms)
-        com.vaadin.flow.component.ComponentEffect.effect(this, () -> {
-            String query = searchQuerySignal.value();
-
-            // Cancel previous timer
-            if (debounceTimer != null) {
-                debounceTimer.cancel();
-            }
-
-            // Schedule new debounced update
-            debounceTimer = new Timer();
-            debounceTimer.schedule(new TimerTask() {
-                @Override
-                public void run() {
-                    debouncedQuerySignal.value(query);
-                    performSearch(query);
-                }
-            }, 300); // 300ms debounce delay
-        });
+        // Search only when the debounced query changes
+        ComponentEffect.effect(this,
+                () -> performSearch(debouncedQuerySignal.value()));
     }
 
     @Override
     protected void onDetach(DetachEvent detachEvent) {
         super.onDetach(detachEvent);
-        if (debounceTimer != null) {
-            debounceTimer.cancel();
-        }
         // Cancel any in-flight search
         CompletableFuture<Void> search = currentSearch.get();
         if (search != null) {
@@ -297,7 +268,7 @@ public class UseCase15View extends VerticalLayout {
 
         // Set searching state
         isSearchingSignal.value(true);
-        searchCountSignal.value(searchCountSignal.value() + 1);
+        searchCountSignal.value(searchCountSignal.peek() + 1);
 
         // Simulate async search with delay
         CompletableFuture<Void> searchFuture = CompletableFuture
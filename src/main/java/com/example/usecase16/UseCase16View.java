@@ -6,7 +6,6 @@ import jakarta.annotation.security.PermitAll;
 
 import java.util.List;
 import java.util.Map;
-import java.util.stream.Collectors;
 
 import com.example.MissingAPI;
 
@@ -78,17 +77,6 @@ public class UseCase16View extends VerticalLayout
         public String getContent() {
             return content;
         }
-
-        public boolean matches(String query, String category) {
-            boolean categoryMatch = category.equals("All")
-                    || this.category.equals(category);
-            if (query.isEmpty()) {
-                return categoryMatch;
-            }
-            String lowerQuery = query.toLowerCase();
-            return categoryMatch && (title.toLowerCase().contains(lowerQuery)
-                    || content.toLowerCase().contains(lowerQuery));
-        }
     }
 
     private static final List<Article> ALL_ARTICLES = List.of(
@@ -117,8 +105,16 @@ public class UseCase16View extends VerticalLayout
             "");
     private final WritableSignal<String> categorySignal = new ValueSignal<>(
             "All");
-    private final WritableSignal<List<Article>> filteredArticlesSignal = new ValueSignal<>(
-            List.of());
+    // Memoized, so typing more of a query only filters the previous results
+    private final Signal<List<Article>> filteredArticlesSignal = MissingAPI
+            .filteredList(ALL_ARTICLES)
+            .partitionBy(Article::getCategory, categorySignal, "All")
+            .search(searchQuerySignal.map(String::toLowerCase),
+                    (article, query) -> article.getTitle().toLowerCase()
+                            .contains(query)
+                            || article.getContent().toLowerCase()
+                                    .contains(query))
+            .build();
 
     private boolean isInitializing = true;
 
@@ -276,7 +272,7 @@ public class UseCase16View extends VerticalLayout
         add(title, description, controls, urlBox, shareTitle, shareLinks,
                 resultsTitle, resultsContainer, infoBox);
 
-        // Subscribe to signals to update URL and filter results
+        // Subscribe to signals to update the URL
         setupSignalSubscriptions();
     }
 
@@ -290,7 +286,6 @@ public class UseCase16View extends VerticalLayout
             if (!isInitializing) {
                 updateUrl();
             }
-            updateFilteredResults();
         });
     }
 
@@ -320,9 +315,6 @@ public class UseCase16View extends VerticalLayout
         }
 
         isInitializing = false;
-
-        // Initial filter
-        updateFilteredResults();
     }
 
     private void updateUrl() {
@@ -346,17 +338,6 @@ public class UseCase16View extends VerticalLayout
         UI.getCurrent().getPage().getHistory().replaceState(null, url);
     }
 
-    private void updateFilteredResults() {
-        String query = searchQuerySignal.value();
-        String category = categorySignal.value();
-
-        List<Article> filtered = ALL_ARTICLES.stream()
-                .filter(article -> article.matches(query, category))
-                .collect(Collectors.toList());
-
-        filteredArticlesSignal.value(filtered);
-    }
-
     private String getBaseUrl() {
         VaadinServletRequest request = (VaadinServletRequest) com.vaadin.flow.server.VaadinRequest
                 .getCurrent();
@@ -5,6 +5,7 @@ import java.time.LocalDate;
 
 import com.example.MissingAPI;
 import com.example.security.CurrentUserSignal;
+import com.example.signals.MirroredListSignal;
 import com.example.signals.SessionIdHelper;
 import com.example.signals.UserSessionRegistry;
 import com.example.views.MainLayout;
@@ -36,12 +37,11 @@ import com.vaadin.signals.Signal;
 import com.vaadin.signals.WritableSignal;
 import com.vaadin.signals.local.ValueSignal;
 import com.vaadin.signals.shared.SharedListSignal;
-import com.vaadin.signals.shared.SharedValueSignal;
 
 public abstract class AbstractTaskChatView extends VerticalLayout {
 
     // Signals injected via constructor
-    protected final SharedListSignal<Task> tasksSignal;
+    protected final MirroredListSignal<Task> tasksSignal;
     protected final SharedListSignal<ChatMessageData> chatMessagesSignal;
     protected final String conversationId;
     protected final CurrentUserSignal currentUserSignal;
@@ -67,7 +67,7 @@ public abstract class AbstractTaskChatView extends VerticalLayout {
 
     // Constructor with signal injection
     protected AbstractTaskChatView(
-            SharedListSignal<Task> tasksSignal,
+            MirroredListSignal<Task> tasksSignal,
             SharedListSignal<ChatMessageData> chatMessagesSignal,
             TaskLLMService taskLLMService,
             String conversationId,
@@ -86,9 +86,9 @@ public abstract class AbstractTaskChatView extends VerticalLayout {
         setSpacing(true);
 
         // Set up computed signals
-        totalTasksSignal = tasksSignal.map(list -> list.size());
-        completedTasksSignal = Signal.computed(
-                () -> (int) tasksSignal.value().stream().filter(t -> t.value().isCompleted()).count());
+        // The completed count only re-checks tasks changed since the last count
+        totalTasksSignal = tasksSignal.size();
+        completedTasksSignal = tasksSignal.count(Task::isCompleted);
         pendingTasksSignal = Signal.computed(() -> totalTasksSignal.value() - completedTasksSignal.value());
 
         // Build UI - Statistics on top, then AI and Grid side by side
@@ -119,18 +119,7 @@ public abstract class AbstractTaskChatView extends VerticalLayout {
             return username;
         }
 
-        var users = userSessionRegistry.getActiveUsersSignal().value();
-        var displayNames = userSessionRegistry.getDisplayNamesSignal().value();
-
-        // Find matching session key for current user
-        String sessionKey = username + ":" + sessionId;
-        for (int i = 0; i < users.size() && i < displayNames.size(); i++) {
-            if (sessionKey.equals(users.get(i).value().getCompositeKey())) {
-                return displayNames.get(i);
-            }
-        }
-
-        return username;
+        return userSessionRegistry.getDisplayName(username, sessionId);
     }
 
     private HorizontalLayout buildMainPanel() {
@@ -294,8 +283,7 @@ public abstract class AbstractTaskChatView extends VerticalLayout {
             Button deleteButton = new Button(VaadinIcon.TRASH.create());
             deleteButton.addThemeVariants(ButtonVariant.LUMO_ERROR, ButtonVariant.LUMO_SMALL);
             deleteButton.addClickListener(e -> {
-                tasksSignal.value().stream().filter(sig -> sig.value().equals(task)).findFirst()
-                        .ifPresent(tasksSignal::remove);
+                tasksSignal.findRow(task::equals).ifPresent(tasksSignal::remove);
             });
 
             actions.add(editButton, deleteButton);
@@ -304,8 +292,9 @@ public abstract class AbstractTaskChatView extends VerticalLayout {
 
         grid.addThemeVariants(GridVariant.LUMO_ROW_STRIPES, GridVariant.LUMO_COMPACT);
 
-        // Bind directly to ListSignal - it will register dependencies on all individual ValueSignals
-        MissingAPI.bindItems(grid, tasksSignal);
+        // Bind directly to ListSignal - structural changes refresh the list in
+        // place and an edited task only refreshes its own row
+        MissingAPI.bindItems(grid, tasksSignal.getRowsSignal(), Task::id);
 
         gridContainer.add(grid);
         gridContainer.setFlexGrow(1, grid);
@@ -341,11 +330,9 @@ public abstract class AbstractTaskChatView extends VerticalLayout {
 
         Button saveButton = new Button("Save", e -> {
             // Find the signal for this task and update it
-            tasksSignal.value().stream().filter(sig -> sig.value().id().equals(task.id())).findFirst().ifPresent(sig -> {
-                Task updatedTask = new Task(task.id(), titleField.getValue(), descriptionField.getValue(),
-                        statusCombo.getValue(), dueDatePicker.getValue());
-                sig.value(updatedTask);
-            });
+            Task updatedTask = new Task(task.id(), titleField.getValue(), descriptionField.getValue(),
+                    statusCombo.getValue(), dueDatePicker.getValue());
+            updateTaskField(task.id(), current -> updatedTask);
             dialog.close();
         });
         saveButton.addThemeVariants(ButtonVariant.LUMO_PRIMARY);
@@ -467,17 +454,15 @@ public abstract class AbstractTaskChatView extends VerticalLayout {
     }
 
     private void updateTaskField(String taskId, java.util.function.Function<Task, Task> updater) {
-        tasksSignal.value().stream()
-                .filter(sig -> sig.value().id().equals(taskId))
-                .findFirst()
-                .ifPresent(sig -> sig.value(updater.apply(sig.value())));
+        tasksSignal.findRow(task -> task.id().equals(taskId))
+                .ifPresent(sig -> tasksSignal.update(sig, updater::apply));
     }
 
     private TaskContext createTaskContext() {
         return new TaskContext() {
             @Override
             public java.util.List<Task> getAllTasks() {
-                return tasksSignal.value().stream().map(SharedValueSignal::value).toList();
+                return java.util.List.copyOf(tasksSignal.peek());
             }
 
             @Override
@@ -487,9 +472,7 @@ public abstract class AbstractTaskChatView extends VerticalLayout {
 
             @Override
             public void removeTask(String taskId) {
-                tasksSignal.value().stream()
-                        .filter(sig -> sig.value().id().equals(taskId))
-                        .findFirst()
+                tasksSignal.findRow(task -> task.id().equals(taskId))
                         .ifPresent(tasksSignal::remove);
             }
 
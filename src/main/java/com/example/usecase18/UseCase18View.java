@@ -8,6 +8,7 @@ import java.time.LocalDate;
 import java.util.UUID;
 
 import com.example.security.CurrentUserSignal;
+import com.example.signals.MirroredListSignal;
 import com.example.signals.UserSessionRegistry;
 import com.vaadin.flow.router.Menu;
 import com.vaadin.flow.router.PageTitle;
@@ -24,7 +25,7 @@ public class UseCase18View extends AbstractTaskChatView {
                           CurrentUserSignal currentUserSignal,
                           UserSessionRegistry userSessionRegistry) {
         super(
-            new SharedListSignal<>(Task.class),                    // View-local task signal
+            new MirroredListSignal<>(Task.class),                  // View-local task signal
             new SharedListSignal<>(ChatMessageData.class),         // View-local chat signal
             taskLLMService,
             UUID.randomUUID().toString(),                    // Per-instance conversation ID
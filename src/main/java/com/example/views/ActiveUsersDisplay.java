@@ -1,6 +1,7 @@
 package com.example.views;
 
 import com.example.MissingAPI;
+import com.example.signals.UserInfo;
 import com.example.signals.UserSessionRegistry;
 
 import com.vaadin.flow.component.avatar.Avatar;
@@ -88,48 +89,40 @@ public class ActiveUsersDisplay extends Div {
                         + displayNames.size()));
         title.getStyle().set("font-weight", "500");
 
-        // Bind user avatars and names
-        MissingAPI.bindChildren(usersContainer, Signal.computed(() -> {
-            var displayNames = displayNamesSignal.value();
-            var users = userSessionRegistry.getActiveUsersSignal().value();
-
-            // Filter users if viewRoute is specified
-            java.util.List<com.example.signals.UserInfo> filteredUsers;
-            if (viewRoute != null) {
-                filteredUsers = users.stream()
-                        .map(userSignal -> userSignal.value())
-                        .filter(user -> viewRoute.equals(user.currentView()))
-                        .toList();
-            } else {
-                filteredUsers = users.stream()
-                        .map(userSignal -> userSignal.value()).toList();
-            }
-
-            return filteredUsers.stream().map(user -> {
-                // Display name (use nickname if set, otherwise username)
-                String displayName = user.nickname() != null
-                        && !user.nickname().isEmpty() ? user.nickname()
-                                : user.username();
-
-                HorizontalLayout userItem = new HorizontalLayout();
-                userItem.setSpacing(true);
-                userItem.setAlignItems(
-                        com.vaadin.flow.component.orderedlayout.FlexComponent.Alignment.CENTER);
-                userItem.getStyle().set("padding", "0.25em 0.5em")
-                        .set("background-color", "rgba(255, 255, 255, 0.7)")
-                        .set("border-radius", "16px");
-
-                // Avatar (default 40x40 size)
-                Avatar avatar = new Avatar(displayName);
-                avatar.setImage(MainLayout.getProfilePicturePath(user.username()));
-
-                Span nameLabel = new Span(displayName);
-                nameLabel.getStyle().set("font-size", "var(--lumo-font-size-s)");
-
-                userItem.add(avatar, nameLabel);
-                return userItem;
-            }).toList();
-        }));
+        // Sessions to show: the registry's per-route signal, or all
+        // active sessions
+        Signal<java.util.List<UserInfo>> usersSignal = viewRoute != null
+                ? userSessionRegistry.getUsersOnView(viewRoute)
+                : Signal.computed(() -> userSessionRegistry
+                        .getActiveUsersSignal().value().stream()
+                        .map(userSignal -> userSignal.value()).toList());
+
+        // Bind user avatars and names, reusing the items of unchanged sessions
+        MissingAPI.bindChildren(usersContainer, usersSignal,
+                UserInfo::sessionKey, user -> {
+            // Display name (use nickname if set, otherwise username)
+            String displayName = user.nickname() != null
+                    && !user.nickname().isEmpty() ? user.nickname()
+                            : user.username();
+
+            HorizontalLayout userItem = new HorizontalLayout();
+            userItem.setSpacing(true);
+            userItem.setAlignItems(
+                    com.vaadin.flow.component.orderedlayout.FlexComponent.Alignment.CENTER);
+            userItem.getStyle().set("padding", "0.25em 0.5em")
+                    .set("background-color", "rgba(255, 255, 255, 0.7)")
+                    .set("border-radius", "16px");
+
+            // Avatar (default 40x40 size)
+            Avatar avatar = new Avatar(displayName);
+            avatar.setImage(MainLayout.getProfilePicturePath(user.username()));
+
+            Span nameLabel = new Span(displayName);
+            nameLabel.getStyle().set("font-size", "var(--lumo-font-size-s)");
+
+            userItem.add(avatar, nameLabel);
+            return userItem;
+        });
 
         add(title, usersContainer);
     }
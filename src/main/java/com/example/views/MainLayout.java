@@ -2,10 +2,17 @@ package com.example.views;
 
 import jakarta.annotation.security.PermitAll;
 
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.LongSupplier;
 import java.util.stream.Collectors;
 
 import com.example.security.CurrentUserSignal;
+import com.example.signals.PresenceChangeFeed;
+import com.example.signals.PresenceEvent;
 import com.example.signals.SessionIdHelper;
+import com.example.signals.SessionKey;
+import com.example.signals.UserInfo;
 import com.example.signals.UserSessionRegistry;
 import com.example.preferences.UserPreferences;
 
@@ -81,29 +88,10 @@ public class MainLayout extends AppLayout implements BeforeEnterObserver {
                 "var(--lumo-secondary-text-color)")
                 .set("font-size", "var(--lumo-font-size-s)");
 
-        com.vaadin.flow.component.html.Div avatarsContainer = new com.vaadin.flow.component.html.Div();
+        Div avatarsContainer = new Div();
         avatarsContainer.getStyle().set("display", "flex").set("gap", "0.25em");
 
-        com.example.MissingAPI.bindChildren(avatarsContainer,
-                com.vaadin.signals.Signal.computed(() -> {
-                    var users = userSessionRegistry.getActiveUsersSignal()
-                            .value();
-                    var displayNames = userSessionRegistry.getDisplayNamesSignal()
-                            .value();
-
-                    java.util.List<Avatar> avatars = new java.util.ArrayList<>();
-                    for (int i = 0; i < users.size(); i++) {
-                        var user = users.get(i).value();
-                        String displayName = i < displayNames.size()
-                                ? displayNames.get(i)
-                                : user.username();
-
-                        Avatar avatar = new Avatar(displayName);
-                        avatar.setImage(getProfilePicturePath(user.username()));
-                        avatars.add(avatar);
-                    }
-                    return avatars;
-                }));
+        bindAvatars(avatarsContainer);
 
         activeUsersDisplay.add(activeUsersLabel, avatarsContainer);
 
@@ -257,6 +245,13 @@ public class MainLayout extends AppLayout implements BeforeEnterObserver {
     @ClientCallable
     public void onVisibilityChange(boolean isVisible) {
         if (currentUser != null && sessionId != null) {
+            if (isVisible && !userSessionRegistry.isSessionActive(currentUser,
+                    sessionId)) {
+                // Session was reaped while idle, register it again
+                getUI().ifPresent(ui -> userSessionRegistry.registerUser(
+                        currentUser, sessionId,
+                        ui.getActiveViewLocation().getPath()));
+            }
             userSessionRegistry.updateTabActivity(currentUser, sessionId, isVisible);
         }
     }
@@ -297,6 +292,67 @@ public class MainLayout extends AppLayout implements BeforeEnterObserver {
         sourceCodeLink.setVisible(isViewClass);
     }
 
+    /**
+     * Keeps one avatar per active session in the container. The avatars are
+     * built once from a snapshot and then updated from the presence change
+     * feed, so a join or rename only touches the affected avatar.
+     */
+    private void bindAvatars(Div avatarsContainer) {
+        Map<SessionKey, Avatar> avatars = new HashMap<>();
+        PresenceChangeFeed feed = userSessionRegistry.getPresenceChangeFeed();
+
+        // Events after the version are replayed, so it is read first
+        LongSupplier rebuild = () -> {
+            long version = feed.getVersion();
+            avatars.clear();
+            avatarsContainer.removeAll();
+            for (var userSignal : userSessionRegistry.getActiveUsersSignal()
+                    .peek()) {
+                UserInfo user = userSignal.peek();
+                addAvatar(avatarsContainer, avatars, user.sessionKey(),
+                        userSessionRegistry.getDisplayName(user.username(),
+                                user.sessionId()));
+            }
+            return version;
+        };
+
+        feed.subscribe(avatarsContainer, rebuild.getAsLong(), events -> {
+            for (PresenceEvent event : events) {
+                switch (event.type()) {
+                case JOINED -> addAvatar(avatarsContainer, avatars,
+                        event.sessionKey(), event.displayName());
+                case LEFT -> {
+                    Avatar avatar = avatars.remove(event.sessionKey());
+                    if (avatar != null) {
+                        avatarsContainer.remove(avatar);
+                    }
+                }
+                case RENAMED -> {
+                    Avatar avatar = avatars.get(event.sessionKey());
+                    if (avatar != null) {
+                        avatar.setName(event.displayName());
+                    }
+                }
+                default -> {
+                    // View and tab changes are not shown in the avatars
+                }
+                }
+            }
+        }, rebuild);
+    }
+
+    private static void addAvatar(Div avatarsContainer,
+            Map<SessionKey, Avatar> avatars, SessionKey sessionKey,
+            String displayName) {
+        if (avatars.containsKey(sessionKey)) {
+            return;
+        }
+        Avatar avatar = new Avatar(displayName);
+        avatar.setImage(getProfilePicturePath(sessionKey.username()));
+        avatars.put(sessionKey, avatar);
+        avatarsContainer.add(avatar);
+    }
+
     /**
      * Get the profile picture path for a username.
      * Images are stored in src/main/resources/META-INF/resources/profile-pictures/
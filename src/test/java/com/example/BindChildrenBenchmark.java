@@ -0,0 +1,100 @@
+package com.example;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.vaadin.flow.component.UI;
+import com.vaadin.flow.component.html.Div;
+import com.vaadin.signals.local.ValueSignal;
+
+/**
+ * Changes one item of a 1,000 item list bound with
+ * {@link MissingAPI#bindChildren}, with and without keys. Besides the time per
+ * change, the number of state node changes that would be sent to the browser
+ * per change is printed at the end of each trial.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class BindChildrenBenchmark {
+
+    private record Row(int id, String label) {
+    }
+
+    @Param({ "1000" })
+    public int items;
+
+    @Param({ "keyed", "rebuild" })
+    public String binding;
+
+    private UI ui;
+    private ValueSignal<List<Row>> rowsSignal;
+    private int changes;
+    private long nodeChanges;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        ui = new UI();
+        // Effects of the current UI run right away on this thread
+        UI.setCurrent(ui);
+
+        List<Row> rows = new ArrayList<>();
+        for (int i = 0; i < items; i++) {
+            rows.add(new Row(i, "Item " + i));
+        }
+        rowsSignal = new ValueSignal<>(List.copyOf(rows));
+
+        Div container = new Div();
+        if ("keyed".equals(binding)) {
+            MissingAPI.bindChildren(container, rowsSignal, Row::id,
+                    row -> new Div(row.label()));
+        } else {
+            MissingAPI.bindChildren(container, rowsSignal,
+                    row -> new Div(row.label()));
+        }
+        ui.add(container);
+        // The initial render is not part of the measurement
+        ui.getInternals().getStateTree().collectChanges(change -> {
+        });
+    }
+
+    @Benchmark
+    public long changeOneItem() {
+        List<Row> rows = new ArrayList<>(rowsSignal.peek());
+        int index = items / 2;
+        rows.set(index, new Row(index, "Item " + index + " v" + changes));
+        rowsSignal.value(List.copyOf(rows));
+
+        long[] count = { 0 };
+        ui.getInternals().getStateTree()
+                .collectChanges(change -> count[0]++);
+        changes++;
+        nodeChanges += count[0];
+        return count[0];
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        System.out.printf("%n%s, %d items: %.1f node changes per 1-item change%n",
+                binding, items, (double) nodeChanges / Math.max(1, changes));
+        UI.setCurrent(null);
+    }
+}
@@ -0,0 +1,97 @@
+package com.example.muc01;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.example.muc01.MUC01Signals.Message;
+
+/**
+ * Query time of {@link MessageSearchIndex} with 1M indexed messages stored in
+ * a {@link MessageArchive} in a temporary directory, including the archive
+ * reads for the returned hits. Message texts are drawn from a vocabulary with
+ * a skewed word frequency, so the queries cover common, rare and missing
+ * terms.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgs = "-Xmx4g")
+@State(Scope.Benchmark)
+public class MessageSearchIndexBenchmark {
+
+    private static final int VOCABULARY_SIZE = 5_000;
+    private static final int WORDS_PER_MESSAGE = 12;
+    private static final int AUTHORS = 50;
+    private static final int HIT_LIMIT = 20;
+
+    @Param({ "1000000" })
+    public int messages;
+
+    // Word 0 is the most common one; "author7" matches the author field
+    @Param({ "word0", "word0 word1", "word4999", "author7 word3",
+            "word17 word4000", "missing" })
+    public String query;
+
+    private Path directory;
+    private MessageArchive archive;
+    private MessageSearchIndex index;
+
+    @Setup
+    public void setUp() throws IOException {
+        directory = Files.createTempDirectory("search-benchmark");
+        archive = new MessageArchive(directory.toString(), 10_000, 8);
+        index = new MessageSearchIndex(archive, messages);
+
+        Random random = new Random(42);
+        LocalDateTime timestamp = LocalDateTime.now();
+        StringBuilder text = new StringBuilder();
+        for (int i = 0; i < messages; i++) {
+            text.setLength(0);
+            for (int w = 0; w < WORDS_PER_MESSAGE; w++) {
+                // Squaring a uniform value favors the low word numbers
+                double skewed = random.nextDouble() * random.nextDouble();
+                text.append("word").append((int) (skewed * VOCABULARY_SIZE))
+                        .append(' ');
+            }
+            String author = "author" + random.nextInt(AUTHORS);
+            Message message = new Message(author, author, text.toString(),
+                    timestamp);
+            index.add(archive.append(message), message);
+        }
+    }
+
+    @Benchmark
+    public List<MessageSearchIndex.SearchHit> search() {
+        return index.search(query, HIT_LIMIT);
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        archive.close();
+        try (Stream<Path> files = Files.walk(directory)) {
+            files.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile()
+                    .delete());
+        }
+    }
+}
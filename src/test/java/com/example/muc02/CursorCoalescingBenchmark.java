@@ -0,0 +1,92 @@
+package com.example.muc02;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.example.muc02.MUC02Signals.CursorRendering;
+import com.example.signals.IdleSessionReaper;
+import com.example.signals.SessionKey;
+import com.example.signals.UserSessionRegistry;
+
+/**
+ * One publish tick of {@link MUC02Signals}: every session submits a number of
+ * cursor moves, then the buffered positions are published. The number of
+ * moves received and the number of positions written to the cursor signals
+ * are printed at the end of each trial.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class CursorCoalescingBenchmark {
+
+    @Param({ "10", "200" })
+    public int users;
+
+    // 1 is what the client sampler sends at its default interval, 20 is an
+    // unthrottled mouse at 400 events per second with 50 ms ticks
+    @Param({ "1", "20" })
+    public int movesPerTick;
+
+    @Param({ "COMPONENTS", "FRAME" })
+    public CursorRendering rendering;
+
+    private MUC02Signals signals;
+    private SessionKey[] sessionKeys;
+    private int step;
+    private long submittedAtStart;
+    private long publishedAtStart;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        IdleSessionReaper reaper = new IdleSessionReaper(
+                new UserSessionRegistry(), 1_000, 600_000, 3_600_000);
+        signals = new MUC02Signals(reaper, 50, 4, rendering);
+        sessionKeys = new SessionKey[users];
+        for (int i = 0; i < users; i++) {
+            sessionKeys[i] = SessionKey.of("user-" + i, "session-" + i);
+            signals.getCursorSignalForUser(sessionKeys[i]);
+        }
+        signals.publishCursors();
+        submittedAtStart = signals.getSubmittedPositionCount();
+        publishedAtStart = signals.getPublishedPositionCount();
+    }
+
+    @Benchmark
+    public void tick() {
+        for (int move = 0; move < movesPerTick; move++) {
+            step = step == 1_000 ? 0 : step + 1;
+            for (int i = 0; i < users; i++) {
+                signals.submitCursor(sessionKeys[i], step + i, step / 2);
+            }
+        }
+        signals.publishCursors();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        long submitted = signals.getSubmittedPositionCount()
+                - submittedAtStart;
+        long published = signals.getPublishedPositionCount()
+                - publishedAtStart;
+        System.out.printf(
+                "%n%s, %d users, %d moves per tick: %d moves received, %d positions published (%.1f%%)%n",
+                rendering, users, movesPerTick, submitted, published,
+                100.0 * published / Math.max(1, submitted));
+    }
+}
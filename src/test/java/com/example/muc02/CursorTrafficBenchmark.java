@@ -0,0 +1,129 @@
+package com.example.muc02;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.example.muc02.MUC02Signals.CursorRendering;
+import com.example.signals.IdleSessionReaper;
+import com.example.signals.PointSignal;
+import com.example.signals.SessionKey;
+import com.example.signals.UserSessionRegistry;
+import com.vaadin.flow.component.UI;
+import com.vaadin.flow.component.html.Div;
+import com.vaadin.flow.internal.ConstantPool;
+
+/**
+ * Bytes pushed to the browser per second for MUC02 cursors, with one
+ * component per cursor compared to one cursor frame property. Every session
+ * moves its cursor in every publish tick, and one observing UI renders all
+ * cursors the way {@link MUC02View} does. The JSON size of the state node
+ * changes per tick is printed at the end of each trial, scaled to bytes per
+ * second for one observer and for all sessions observing each other.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class CursorTrafficBenchmark {
+
+    // The default app.cursor.publish-interval-ms
+    private static final int PUBLISH_INTERVAL_MILLIS = 50;
+
+    @Param({ "10", "50", "200" })
+    public int users;
+
+    @Param({ "COMPONENTS", "FRAME" })
+    public CursorRendering rendering;
+
+    private MUC02Signals signals;
+    private SessionKey[] sessionKeys;
+    private UI ui;
+    private ConstantPool constantPool;
+    private int step;
+    private long ticks;
+    private long bytes;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        IdleSessionReaper reaper = new IdleSessionReaper(
+                new UserSessionRegistry(), 1_000, 600_000, 3_600_000);
+        signals = new MUC02Signals(reaper, 50, 4, rendering);
+        sessionKeys = new SessionKey[users];
+        for (int i = 0; i < users; i++) {
+            sessionKeys[i] = SessionKey.of("user-" + i, "session-" + i);
+            signals.getCursorSignalForUser(sessionKeys[i]);
+        }
+
+        ui = new UI();
+        // Effects of the current UI run right away on this thread
+        UI.setCurrent(ui);
+        Div container = new Div();
+        if (rendering == CursorRendering.FRAME) {
+            container.getElement().bindProperty("cursorFrame",
+                    signals.getCursorFrameSignal());
+        } else {
+            // The rate limit of the view allows one update per tick, so the
+            // positions are bound directly
+            for (PointSignal cursor : signals.getSessionCursorsSignal()
+                    .peek().values()) {
+                Div indicator = new Div();
+                indicator.getStyle().bind("left",
+                        cursor.map((x, y) -> x + "px"));
+                indicator.getStyle().bind("top",
+                        cursor.map((x, y) -> y + "px"));
+                container.add(indicator);
+            }
+        }
+        ui.add(container);
+        signals.publishCursors();
+
+        // The initial render is not part of the measurement
+        constantPool = new ConstantPool();
+        ui.getInternals().getStateTree().collectChanges(change -> {
+        });
+    }
+
+    @Benchmark
+    public long tick() {
+        step = step == 1_000 ? 0 : step + 1;
+        for (int i = 0; i < users; i++) {
+            signals.submitCursor(sessionKeys[i], step + i, step / 2 + i);
+        }
+        signals.publishCursors();
+
+        // Cursor changes are ASCII, so characters are bytes
+        long[] tickBytes = { 0 };
+        ui.getInternals().getStateTree().collectChanges(
+                change -> tickBytes[0] += change.toJson(constantPool)
+                        .toString().length());
+        ticks++;
+        bytes += tickBytes[0];
+        return tickBytes[0];
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        double bytesPerTick = (double) bytes / Math.max(1, ticks);
+        double bytesPerSecond = bytesPerTick * 1000 / PUBLISH_INTERVAL_MILLIS;
+        System.out.printf(
+                "%n%s, %d users: %.0f bytes per tick, %.0f bytes/s per observer, %.0f bytes/s for all users%n",
+                rendering, users, bytesPerTick, bytesPerSecond,
+                bytesPerSecond * users);
+        UI.setCurrent(null);
+    }
+}
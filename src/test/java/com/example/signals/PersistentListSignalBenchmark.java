@@ -0,0 +1,91 @@
+package com.example.signals;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.vaadin.signals.Signal;
+import com.vaadin.signals.shared.SharedListSignal;
+import com.vaadin.signals.shared.SharedValueSignal;
+
+/**
+ * {@link PersistentListSignal} compared to {@code SharedListSignal} with 10k
+ * and 100k items: an indexed read, and toggling one item followed by reading
+ * a count of matching items, the way the task views derive their completed
+ * counts.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class PersistentListSignalBenchmark {
+
+    private record Item(int id, boolean done) {
+    }
+
+    @Param({ "10000", "100000" })
+    public int items;
+
+    private SharedListSignal<Item> sharedList;
+    private Signal<Integer> sharedDoneCount;
+    private PersistentListSignal<Item> persistentList;
+    private Signal<Integer> persistentDoneCount;
+    private Random random;
+
+    @Setup
+    public void setUp() {
+        sharedList = new SharedListSignal<>(Item.class);
+        persistentList = new PersistentListSignal<>();
+        for (int i = 0; i < items; i++) {
+            Item item = new Item(i, i % 3 == 0);
+            sharedList.insertLast(item);
+            persistentList.insertLast(item);
+        }
+
+        sharedDoneCount = Signal.computed(() -> (int) sharedList.value()
+                .stream().filter(item -> item.value().done()).count());
+        persistentDoneCount = persistentList.count(Item::done);
+        sharedDoneCount.value();
+        persistentDoneCount.value();
+        random = new Random(42);
+    }
+
+    @Benchmark
+    public Item getShared() {
+        return sharedList.peek().get(random.nextInt(items)).peek();
+    }
+
+    @Benchmark
+    public Item getPersistent() {
+        return persistentList.peek().get(random.nextInt(items));
+    }
+
+    @Benchmark
+    public int toggleAndCountShared() {
+        SharedValueSignal<Item> row = sharedList.peek()
+                .get(random.nextInt(items));
+        Item item = row.peek();
+        row.value(new Item(item.id(), !item.done()));
+        return sharedDoneCount.value();
+    }
+
+    @Benchmark
+    public int toggleAndCountPersistent() {
+        persistentList.update(random.nextInt(items),
+                item -> new Item(item.id(), !item.done()));
+        return persistentDoneCount.value();
+    }
+}
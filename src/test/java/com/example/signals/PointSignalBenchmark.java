@@ -0,0 +1,56 @@
+package com.example.signals;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.vaadin.signals.shared.SharedValueSignal;
+
+/**
+ * Allocation per cursor write with a {@link PointSignal} compared to a
+ * {@code SharedValueSignal} of a position record, as MUC02 used before. The
+ * allocation per write is the {@code gc.alloc.rate.norm} result of the
+ * {@code gc} profiler, which the benchmark profile enables.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class PointSignalBenchmark {
+
+    private record Position(int x, int y) {
+    }
+
+    private PointSignal pointSignal;
+    private SharedValueSignal<Position> positionSignal;
+    private int x;
+
+    @Setup
+    public void setUp() {
+        pointSignal = new PointSignal(0, 0);
+        positionSignal = new SharedValueSignal<>(new Position(0, 0));
+    }
+
+    @Benchmark
+    public void pointSignal() {
+        x = x == 1_000 ? 0 : x + 1;
+        pointSignal.set(x, x / 2);
+    }
+
+    @Benchmark
+    public void valueSignalOfRecord() {
+        x = x == 1_000 ? 0 : x + 1;
+        positionSignal.value(new Position(x, x / 2));
+    }
+}
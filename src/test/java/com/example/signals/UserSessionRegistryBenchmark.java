@@ -0,0 +1,104 @@
+package com.example.signals;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Cost of the per-session operations of {@link UserSessionRegistry} with 10,
+ * 1k and 10k registered sessions. With the session index the time per
+ * operation should not grow with the number of sessions.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class UserSessionRegistryBenchmark {
+
+    private static final int USERNAMES = 100;
+
+    @Param({ "10", "1000", "10000" })
+    public int sessions;
+
+    private UserSessionRegistry registry;
+    private String[] usernames;
+    private String[] sessionIds;
+    // Current state of each session, flipped on every call so that each
+    // update is a real change rather than the unchanged early return
+    private boolean[] tabActive;
+    private boolean[] onSecondView;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        registry = new UserSessionRegistry();
+        usernames = new String[sessions];
+        sessionIds = new String[sessions];
+        tabActive = new boolean[sessions];
+        onSecondView = new boolean[sessions];
+        for (int i = 0; i < sessions; i++) {
+            usernames[i] = "user-" + (i % USERNAMES);
+            sessionIds[i] = "session-" + i;
+            registry.registerUser(usernames[i], sessionIds[i], "muc-01");
+            tabActive[i] = true;
+        }
+    }
+
+    // Cycle through all sessions so that no single entry stays hot
+    private int nextSession() {
+        next = next + 1 == sessions ? 0 : next + 1;
+        return next;
+    }
+
+    @Benchmark
+    public boolean isSessionActive() {
+        int i = nextSession();
+        return registry.isSessionActive(usernames[i], sessionIds[i]);
+    }
+
+    @Benchmark
+    public boolean updateLastInteraction() {
+        int i = nextSession();
+        return registry.updateLastInteraction(usernames[i], sessionIds[i],
+                System.currentTimeMillis());
+    }
+
+    @Benchmark
+    public void updateTabActivity() {
+        int i = nextSession();
+        tabActive[i] = !tabActive[i];
+        registry.updateTabActivity(usernames[i], sessionIds[i], tabActive[i]);
+    }
+
+    @Benchmark
+    public void updateUserView() {
+        int i = nextSession();
+        onSecondView[i] = !onSecondView[i];
+        registry.updateUserView(usernames[i], sessionIds[i],
+                onSecondView[i] ? "muc-02" : "muc-01");
+    }
+
+    @Benchmark
+    public String getDisplayName() {
+        int i = nextSession();
+        return registry.getDisplayName(usernames[i], sessionIds[i]);
+    }
+
+    @Benchmark
+    public void registerAndUnregister() {
+        registry.registerUser("benchmark", "benchmark-session", "muc-01");
+        registry.unregisterUser("benchmark", "benchmark-session");
+    }
+}
@@ -0,0 +1,129 @@
+package com.example.usecase04;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.example.MissingAPI;
+import com.vaadin.signals.Signal;
+import com.vaadin.signals.local.ValueSignal;
+
+/**
+ * Filters 1M products with the same filter chain as {@link UseCase04View},
+ * once with {@link MissingAPI#filteredList(List)} and once by streaming the
+ * whole list for every read, as the unmemoized signal did. Each invocation
+ * types a search term one character at a time, or switches the category.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgs = "-Xmx4g")
+@State(Scope.Thread)
+public class FilteredListBenchmark {
+
+    private static final List<String> CATEGORIES = List.of("Electronics",
+            "Clothing", "Books", "Home & Garden");
+    private static final List<String> WORDS = List.of("widget", "gadget",
+            "cable", "shirt", "novel", "lamp", "charger", "jacket");
+    private static final String TERM = "widget";
+
+    @Param({ "1000000" })
+    public int products;
+
+    private List<Product> allProducts;
+    private ValueSignal<String> categorySignal;
+    private ValueSignal<String> searchTermSignal;
+    private ValueSignal<Boolean> inStockOnlySignal;
+    private Signal<List<Product>> filteredSignal;
+    private int category;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        allProducts = new ArrayList<>(products);
+        for (int i = 0; i < products; i++) {
+            allProducts.add(new Product("P" + i,
+                    WORDS.get(random.nextInt(WORDS.size())) + " " + i,
+                    CATEGORIES.get(random.nextInt(CATEGORIES.size())),
+                    random.nextInt(10_000) / 100.0, random.nextInt(5)));
+        }
+
+        categorySignal = new ValueSignal<>("All");
+        searchTermSignal = new ValueSignal<>("");
+        inStockOnlySignal = new ValueSignal<>(true);
+        filteredSignal = MissingAPI.filteredList(allProducts)
+                .partitionBy(Product::category, categorySignal, "All")
+                .search(searchTermSignal, FilteredListBenchmark::matches)
+                .filter(inStockOnlySignal,
+                        (p, inStockOnly) -> !inStockOnly || p.stock() > 0)
+                .build();
+        filteredSignal.value();
+    }
+
+    private static boolean matches(Product product, String term) {
+        return product.name().toLowerCase().contains(term)
+                || product.id().toLowerCase().contains(term);
+    }
+
+    // The unmemoized filter, evaluated from scratch for every read
+    private List<Product> scan() {
+        String selectedCategory = categorySignal.peek();
+        String term = searchTermSignal.peek();
+        boolean inStockOnly = inStockOnlySignal.peek();
+        return allProducts.stream()
+                .filter(p -> "All".equals(selectedCategory)
+                        || p.category().equals(selectedCategory))
+                .filter(p -> term.isEmpty() || matches(p, term))
+                .filter(p -> !inStockOnly || p.stock() > 0).toList();
+    }
+
+    @Benchmark
+    public int typeSearchTermMemoized() {
+        int total = 0;
+        for (int length = 1; length <= TERM.length(); length++) {
+            searchTermSignal.value(TERM.substring(0, length));
+            total += filteredSignal.value().size();
+        }
+        searchTermSignal.value("");
+        return total + filteredSignal.value().size();
+    }
+
+    @Benchmark
+    public int typeSearchTermScan() {
+        int total = 0;
+        for (int length = 1; length <= TERM.length(); length++) {
+            searchTermSignal.value(TERM.substring(0, length));
+            total += scan().size();
+        }
+        searchTermSignal.value("");
+        return total + scan().size();
+    }
+
+    @Benchmark
+    public int switchCategoryMemoized() {
+        category = (category + 1) % CATEGORIES.size();
+        categorySignal.value(CATEGORIES.get(category));
+        return filteredSignal.value().size();
+    }
+
+    @Benchmark
+    public int switchCategoryScan() {
+        category = (category + 1) % CATEGORIES.size();
+        categorySignal.value(CATEGORIES.get(category));
+        return scan().size();
+    }
+}